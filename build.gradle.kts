@@ -7,6 +7,7 @@ plugins {
     kotlin("jvm") version "1.9.24"
     kotlin("plugin.spring") version "1.9.24"
     kotlin("plugin.jpa") version "1.9.24"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.soulf"
@@ -28,8 +29,33 @@ repositories {
     mavenCentral()
 }
 
+// Catalog data shared by the benchmarks and the load-test harness
+sourceSets {
+    create("fixtures") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+    create("loadtest") {
+        compileClasspath += sourceSets.main.get().output + sourceSets["fixtures"].output
+        runtimeClasspath += sourceSets.main.get().output + sourceSets["fixtures"].output
+    }
+}
+
+configurations {
+    named("fixturesImplementation") {
+        extendsFrom(configurations.implementation.get())
+    }
+    named("loadtestImplementation") {
+        extendsFrom(configurations.implementation.get())
+    }
+    named("loadtestRuntimeOnly") {
+        extendsFrom(configurations.runtimeOnly.get())
+    }
+}
+
 val springCloudVersion by extra("2023.0.0")
 val lombokVersion by extra("1.18.42")
+val resilience4jVersion by extra("2.2.0")
 
 dependencies {
     // Spring Boot Starters
@@ -37,6 +63,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
 
     // Spring Kafka
     implementation("org.springframework.kafka:spring-kafka")
@@ -48,6 +75,13 @@ dependencies {
     implementation("org.springframework.cloud:spring-cloud-starter-openfeign")
     implementation("org.springframework.cloud:spring-cloud-starter-loadbalancer")
 
+    // Resilience
+    implementation("io.github.resilience4j:resilience4j-spring-boot3:$resilience4jVersion")
+    implementation("io.github.resilience4j:resilience4j-micrometer:$resilience4jVersion")
+
+    // Metrics
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
     // Database
     runtimeOnly("org.postgresql:postgresql")
     runtimeOnly("com.h2database:h2:2.4.240")
@@ -59,6 +93,10 @@ dependencies {
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.kafka:spring-kafka-test")
+
+    // Benchmarks
+    jmhImplementation(sourceSets["fixtures"].output)
+    jmhRuntimeOnly("com.h2database:h2:2.4.240")
 }
 
 dependencyManagement {
@@ -85,6 +123,42 @@ tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+// ./gradlew jmh [-PjmhIncludes=CategoryTree] writes build/results/jmh/results.json for cross-commit comparison
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    timeOnIteration.set("2s")
+    warmup.set("2s")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    (project.findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+}
+
+// ./gradlew loadTest [-Ploadtest.rate=500 ...] writes build/reports/loadtest/results.json; loadTestServer only boots and seeds
+fun JavaExec.configureLoadTest(serveOnly: Boolean) {
+    group = "verification"
+    classpath = sourceSets["loadtest"].runtimeClasspath
+    mainClass.set("com.soulf.catalog.loadtest.LoadTestApplication")
+    maxHeapSize = "2g"
+    workingDir = projectDir
+    systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") })
+    if (serveOnly) {
+        systemProperty("loadtest.serve-only", "true")
+    }
+}
+
+tasks.register<JavaExec>("loadTest") {
+    description = "Boots the service on H2 with a seeded catalog and a stub inventory service, then drives it at fixed arrival rates."
+    configureLoadTest(serveOnly = false)
+}
+
+tasks.register<JavaExec>("loadTestServer") {
+    description = "Boots the service on H2 with a seeded catalog and a stub inventory service and keeps it running."
+    configureLoadTest(serveOnly = true)
+}
+
 tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar") {
     archiveFileName.set("catalog-service-${version}.jar")
 }
@@ -0,0 +1,53 @@
+package com.soulf.catalog.fixtures;
+
+import com.soulf.catalog.products.core.commands.CreateProductCommand;
+import com.soulf.catalog.products.core.commands.ProductAttributeCommand;
+import com.soulf.catalog.products.core.commands.ProductImageCommand;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic catalog data shared by the benchmarks and the load-test harness, so both measure the same products
+public final class CatalogFixtures {
+
+    public static final List<String> WORDS = List.of(
+            "wireless", "headphones", "stainless", "steel", "bottle", "organic", "cotton", "shirt", "gaming",
+            "laptop", "ceramic", "mug", "leather", "wallet", "running", "shoes", "smart", "watch", "desk", "lamp");
+
+    private CatalogFixtures() {
+    }
+
+    public static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS.get(random.nextInt(WORDS.size())));
+        }
+        return text.toString();
+    }
+
+    // An active, visible product with two attributes and two images, as the import path receives it
+    public static CreateProductCommand product(String skuPrefix, int index, Long categoryId, SplittableRandom random) {
+        return CreateProductCommand.builder()
+                .sku(skuPrefix + index)
+                .name(words(random, 3))
+                .description(words(random, 40))
+                .price(BigDecimal.valueOf(random.nextInt(100, 100_000), 2))
+                .categoryId(categoryId)
+                .inventoryId((long) index + 1)
+                .isActive(true)
+                .isVisible(true)
+                .attributes(List.of(
+                        ProductAttributeCommand.builder().name("color").value(words(random, 1)).displayOrder(0).build(),
+                        ProductAttributeCommand.builder().name("material").value(words(random, 1)).displayOrder(1).build()))
+                .images(List.of(
+                        ProductImageCommand.builder().imageUrl("https://cdn.example.com/" + index + "/0.jpg")
+                                .isPrimary(true).displayOrder(0).build(),
+                        ProductImageCommand.builder().imageUrl("https://cdn.example.com/" + index + "/1.jpg")
+                                .isPrimary(false).displayOrder(1).build()))
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.soulf.catalog.benchmarks;
+
+import com.soulf.catalog.categories.core.domain.Category;
+import com.soulf.catalog.categories.core.tree.CategoryNode;
+import com.soulf.catalog.fixtures.CatalogFixtures;
+import com.soulf.catalog.products.core.domain.Product;
+import com.soulf.catalog.products.core.domain.ProductAttribute;
+import com.soulf.catalog.products.core.domain.ProductImage;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic fixtures so runs on different commits measure the same data
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Product> products(int count, int attributesPerProduct, int imagesPerProduct) {
+        SplittableRandom random = new SplittableRandom(42);
+        Category category = Category.builder().id(7L).version(3L).name("Electronics").slug("electronics").build();
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = Product.builder()
+                    .id((long) i + 1)
+                    .version(1L)
+                    .sku("SKU-" + (i + 1))
+                    .name(CatalogFixtures.words(random, 3))
+                    .description(CatalogFixtures.words(random, 60))
+                    .price(BigDecimal.valueOf(random.nextInt(100, 100_000), 2))
+                    .category(category)
+                    .inventoryId((long) i + 1)
+                    .isActive(true)
+                    .isVisible(true)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                    .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                    .build();
+            for (int a = 0; a < attributesPerProduct; a++) {
+                product.getAttributes().add(ProductAttribute.builder()
+                        .id((long) i * attributesPerProduct + a)
+                        .product(product)
+                        .name("attribute-" + a)
+                        .value(CatalogFixtures.words(random, 2))
+                        .displayOrder(a)
+                        .build());
+            }
+            for (int m = 0; m < imagesPerProduct; m++) {
+                product.getImages().add(ProductImage.builder()
+                        .id((long) i * imagesPerProduct + m)
+                        .product(product)
+                        .imageUrl("https://cdn.example.com/products/" + (i + 1) + "/" + m + ".jpg")
+                        .altText(product.getName())
+                        .isPrimary(m == 0)
+                        .displayOrder(m)
+                        .build());
+            }
+            products.add(product);
+        }
+        return products;
+    }
+
+    // A tree of the given size where each category has up to fanOut children, filled breadth first
+    static List<CategoryNode> categoryNodes(int count, int fanOut) {
+        List<CategoryNode> nodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = i + 1;
+            Long parentId = i < fanOut ? null : (long) (i / fanOut);
+            nodes.add(new CategoryNode(id, parentId, "Category " + id, "Description of category " + id,
+                    "category-" + id, true, (int) (id % fanOut), 1L));
+        }
+        return nodes;
+    }
+}
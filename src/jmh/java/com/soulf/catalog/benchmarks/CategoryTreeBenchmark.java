@@ -0,0 +1,69 @@
+package com.soulf.catalog.benchmarks;
+
+import com.soulf.catalog.categories.core.tree.CategoryNode;
+import com.soulf.catalog.categories.core.tree.CategoryTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Snapshot assembly runs after every category write; the lookups run on every category and subtree read
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CategoryTreeBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int categories;
+
+    @Param({"8"})
+    private int fanOut;
+
+    private List<CategoryNode> nodes;
+    private CategoryTree tree;
+    private long deepestId;
+
+    @Setup
+    public void setUp() {
+        nodes = BenchmarkData.categoryNodes(categories, fanOut);
+        tree = CategoryTree.of(nodes);
+        deepestId = categories;
+    }
+
+    @Benchmark
+    public CategoryTree build() {
+        return CategoryTree.of(nodes);
+    }
+
+    @Benchmark
+    public void walkWholeTree(Blackhole blackhole) {
+        for (CategoryNode root : tree.roots()) {
+            walk(root, blackhole);
+        }
+    }
+
+    @Benchmark
+    public List<Long> subtreeOfRoot() {
+        return tree.subtreeIds(1L);
+    }
+
+    @Benchmark
+    public List<CategoryNode> breadcrumbOfDeepest() {
+        return tree.path(deepestId);
+    }
+
+    private void walk(CategoryNode node, Blackhole blackhole) {
+        blackhole.consume(node);
+        for (CategoryNode child : tree.children(node.id())) {
+            walk(child, blackhole);
+        }
+    }
+}
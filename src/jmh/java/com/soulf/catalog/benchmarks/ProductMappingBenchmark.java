@@ -0,0 +1,47 @@
+package com.soulf.catalog.benchmarks;
+
+import com.soulf.catalog.products.api.ProductDTOMapper;
+import com.soulf.catalog.products.api.dto.ProductDTO;
+import com.soulf.catalog.products.core.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity-to-DTO mapping for one listing page, as done for every product response
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductMappingBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"0", "10"})
+    private int childrenPerProduct;
+
+    private final ProductDTOMapper mapper = new ProductDTOMapper();
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkData.products(pageSize, childrenPerProduct, Math.min(childrenPerProduct, 5));
+    }
+
+    @Benchmark
+    public List<ProductDTO> mapPage() {
+        List<ProductDTO> dtos = new ArrayList<>(products.size());
+        for (Product product : products) {
+            dtos.add(mapper.toDTO(product));
+        }
+        return dtos;
+    }
+}
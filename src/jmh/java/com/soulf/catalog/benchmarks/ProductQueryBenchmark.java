@@ -0,0 +1,127 @@
+package com.soulf.catalog.benchmarks;
+
+import com.soulf.catalog.CatalogServiceApplication;
+import com.soulf.catalog.categories.core.CategoryService;
+import com.soulf.catalog.categories.core.domain.Category;
+import com.soulf.catalog.fixtures.CatalogFixtures;
+import com.soulf.catalog.products.core.ProductService;
+import com.soulf.catalog.products.core.domain.Product;
+import com.soulf.catalog.products.core.repository.ProductSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Listing queries through ProductService against an in-memory H2 catalog. The text index is disabled so
+// searches exercise the database path; the context runs without a web server, Kafka consumers or Redis.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductQueryBenchmark {
+
+    private static final int ROOT_CATEGORIES = 5;
+    private static final int CHILDREN_PER_ROOT = 10;
+
+    @Param({"1000", "10000", "50000"})
+    private int products;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Long rootCategoryId;
+    private Long leafCategoryId;
+    private Pageable firstPage;
+    private Pageable deepPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CatalogServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:catalog-bench;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.soulf.catalog=WARN",
+                        "logging.level.org.springframework=WARN",
+                        "logging.level.org.hibernate=WARN",
+                        "product.search.index.enabled=false",
+                        "invalidation.enabled=false",
+                        "inventory.events.enabled=false",
+                        "outbox.relay.enabled=false")
+                .run();
+        productService = context.getBean(ProductService.class);
+        seed(context.getBean(CategoryService.class));
+        firstPage = PageRequest.of(0, 20, Sort.by("id"));
+        deepPage = PageRequest.of(products / 20 / (ROOT_CATEGORIES * CHILDREN_PER_ROOT) / 2, 20, Sort.by("id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Product> allProductsFirstPage() {
+        return productService.getAllProducts(firstPage);
+    }
+
+    @Benchmark
+    public Page<Product> categoryPage() {
+        return productService.getProductsByCategory(leafCategoryId, false, deepPage);
+    }
+
+    @Benchmark
+    public Page<Product> categorySubtreePage() {
+        return productService.getProductsByCategory(rootCategoryId, true, firstPage);
+    }
+
+    @Benchmark
+    public Page<ProductSummary> categorySubtreeSummaryPage() {
+        return productService.getProductSummariesByCategory(rootCategoryId, true, firstPage);
+    }
+
+    @Benchmark
+    public Page<Product> searchByNameAndPrice() {
+        return productService.searchProducts("laptop", null, false, BigDecimal.valueOf(100), BigDecimal.valueOf(800),
+                true, true, firstPage);
+    }
+
+    private void seed(CategoryService categoryService) {
+        List<Long> leaves = new ArrayList<>();
+        for (int r = 0; r < ROOT_CATEGORIES; r++) {
+            Category root = categoryService.createCategory("Root " + r, null, "root-" + r, null);
+            if (rootCategoryId == null) {
+                rootCategoryId = root.getId();
+            }
+            for (int c = 0; c < CHILDREN_PER_ROOT; c++) {
+                leaves.add(categoryService.createCategory("Leaf " + r + "-" + c, null, "leaf-" + r + "-" + c,
+                        root.getId()).getId());
+            }
+        }
+        leafCategoryId = leaves.get(0);
+
+        SplittableRandom random = new SplittableRandom(42);
+        productService.importProducts(IntStream.range(0, products)
+                .mapToObj(i -> CatalogFixtures.product("BENCH-", i, leaves.get(i % leaves.size()), random))
+                .iterator());
+    }
+}
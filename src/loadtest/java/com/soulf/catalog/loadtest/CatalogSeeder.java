@@ -0,0 +1,63 @@
+package com.soulf.catalog.loadtest;
+
+import com.soulf.catalog.categories.core.CategoryService;
+import com.soulf.catalog.fixtures.CatalogFixtures;
+import com.soulf.catalog.products.core.ProductService;
+import com.soulf.catalog.products.core.results.ProductImportResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Builds a deterministic catalog through the same service paths the API uses: a category tree of the given
+// depth and fan-out, with products spread over its leaves and imported in chunks
+final class CatalogSeeder {
+
+    private final CategoryService categoryService;
+    private final ProductService productService;
+
+    CatalogSeeder(CategoryService categoryService, ProductService productService) {
+        this.categoryService = categoryService;
+        this.productService = productService;
+    }
+
+    record SeededCatalog(List<Long> rootCategoryIds, List<Long> leafCategoryIds, List<Long> productIds, List<String> skus) {
+    }
+
+    SeededCatalog seed(int rootCount, int depth, int fanOut, int productCount) {
+        List<Long> roots = new ArrayList<>();
+        List<Long> leaves = new ArrayList<>();
+        for (int r = 0; r < rootCount; r++) {
+            String slug = "lt-" + r;
+            Long rootId = categoryService.createCategory("Department " + r, null, slug, null).getId();
+            roots.add(rootId);
+            addChildren(rootId, slug, 1, depth, fanOut, leaves);
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<ProductImportResult> results = productService.importProducts(IntStream.range(0, productCount)
+                .mapToObj(i -> CatalogFixtures.product("LT-", i, leaves.get(i % leaves.size()), random))
+                .iterator());
+
+        List<ProductImportResult> created = results.stream().filter(ProductImportResult::isCreated).toList();
+        return new SeededCatalog(
+                roots,
+                leaves,
+                created.stream().map(ProductImportResult::getProductId).filter(Objects::nonNull).toList(),
+                created.stream().map(ProductImportResult::getSku).toList());
+    }
+
+    private void addChildren(Long parentId, String parentSlug, int level, int depth, int fanOut, List<Long> leaves) {
+        if (level >= depth) {
+            leaves.add(parentId);
+            return;
+        }
+        for (int c = 0; c < fanOut; c++) {
+            String slug = parentSlug + "-" + c;
+            Long childId = categoryService.createCategory("Category " + slug.substring(3), null, slug, parentId).getId();
+            addChildren(childId, slug, level + 1, depth, fanOut, leaves);
+        }
+    }
+}
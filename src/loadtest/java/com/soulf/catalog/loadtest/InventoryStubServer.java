@@ -0,0 +1,111 @@
+package com.soulf.catalog.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// Stands in for the inventory service. Every response waits latency +- jitter and fails with a 503 at the
+// configured rate, so resilience and caching behaviour can be measured against a known upstream.
+final class InventoryStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+
+    InventoryStubServer(int port, long latencyMillis, long jitterMillis, double errorRate) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/api/inventory/", this::handle);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            simulateLatency();
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath().substring("/api/inventory/".length());
+            String body;
+            if (path.equals("batch")) {
+                body = Arrays.stream(queryParameter(exchange.getRequestURI().getRawQuery(), "inventoryIds").split(","))
+                        .filter(id -> !id.isBlank())
+                        .map(id -> inventory(Long.parseLong(id.trim()), null))
+                        .collect(Collectors.joining(",", "[", "]"));
+            } else if (path.startsWith("sku/")) {
+                String sku = path.substring("sku/".length());
+                body = inventory(Math.abs((long) sku.hashCode()), sku);
+            } else {
+                body = inventory(Long.parseLong(path), null);
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (RuntimeException e) {
+            exchange.sendResponseHeaders(400, -1);
+        }
+    }
+
+    private void simulateLatency() {
+        long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Quantities are derived from the id so repeated runs see the same stock levels
+    private static String inventory(long inventoryId, String sku) {
+        int available = (int) (inventoryId * 7 % 250);
+        int reserved = (int) (inventoryId % 5);
+        return "{\"inventoryId\":" + inventoryId
+                + ",\"sku\":" + (sku != null ? "\"" + sku + "\"" : "null")
+                + ",\"availableQuantity\":" + available
+                + ",\"reservedQuantity\":" + reserved
+                + ",\"totalQuantity\":" + (available + reserved)
+                + ",\"inStock\":" + (available > 0) + "}";
+    }
+
+    private static String queryParameter(String query, String name) {
+        if (query == null) {
+            return "";
+        }
+        return Arrays.stream(query.split("&"))
+                .map(pair -> pair.split("=", 2))
+                .filter(pair -> pair.length == 2 && pair[0].equals(name))
+                .map(pair -> URLDecoder.decode(pair[1], StandardCharsets.UTF_8))
+                .collect(Collectors.joining(","));
+    }
+}
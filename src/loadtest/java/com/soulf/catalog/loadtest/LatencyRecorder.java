@@ -0,0 +1,60 @@
+package com.soulf.catalog.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-capacity latency store; one slot per scheduled request, so percentiles are exact
+final class LatencyRecorder {
+
+    private final AtomicLongArray latencies;
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+
+    LatencyRecorder(int capacity) {
+        this.latencies = new AtomicLongArray(capacity);
+    }
+
+    void record(long latencyMicros, boolean success) {
+        int slot = recorded.getAndIncrement();
+        if (slot < latencies.length()) {
+            latencies.set(slot, latencyMicros);
+        }
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    Map<String, Object> summary(String scenario, double targetRate, double elapsedSeconds, int scheduled) {
+        int count = Math.min(recorded.get(), latencies.length());
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenario", scenario);
+        summary.put("targetRate", targetRate);
+        summary.put("scheduled", scheduled);
+        summary.put("completed", count);
+        summary.put("errors", errors.get());
+        summary.put("throughput", elapsedSeconds > 0 ? Math.round(count / elapsedSeconds * 10) / 10.0 : 0);
+        summary.put("p50Ms", percentile(sorted, 0.50));
+        summary.put("p90Ms", percentile(sorted, 0.90));
+        summary.put("p99Ms", percentile(sorted, 0.99));
+        summary.put("p999Ms", percentile(sorted, 0.999));
+        summary.put("maxMs", count > 0 ? sorted[count - 1] / 1000.0 : 0);
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+}
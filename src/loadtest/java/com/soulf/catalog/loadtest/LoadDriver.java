@@ -0,0 +1,72 @@
+package com.soulf.catalog.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+// Open-model load: requests are issued on a fixed schedule whether or not earlier ones have finished, and
+// latency is measured from the scheduled start, so a slow server cannot hide its own queueing delay.
+final class LoadDriver {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+
+    LoadDriver(String baseUrl, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    Map<String, Object> run(String scenario, Supplier<String> paths, double ratePerSecond, Duration duration) {
+        int total = (int) Math.max(1, Math.round(ratePerSecond * duration.toMillis() / 1000.0));
+        long intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        LatencyRecorder recorder = new LatencyRecorder(total);
+
+        long start = System.nanoTime();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                long scheduledAt = start + i * intervalNanos;
+                long wait = scheduledAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                String path = paths.get();
+                requests.submit(() -> send(path, scheduledAt, recorder));
+            }
+            requests.shutdown();
+            requests.awaitTermination(requestTimeout.toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return recorder.summary(scenario, ratePerSecond, elapsedSeconds, total);
+    }
+
+    private void send(String path, long scheduledAt, LatencyRecorder recorder) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        boolean success;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+        } catch (Exception e) {
+            success = false;
+        }
+        recorder.record((System.nanoTime() - scheduledAt) / 1_000, success);
+    }
+}
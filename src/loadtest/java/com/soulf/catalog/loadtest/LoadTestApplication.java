@@ -0,0 +1,148 @@
+package com.soulf.catalog.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.soulf.catalog.CatalogServiceApplication;
+import com.soulf.catalog.categories.core.CategoryService;
+import com.soulf.catalog.fixtures.CatalogFixtures;
+import com.soulf.catalog.products.core.ProductService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Boots the service on H2 against the inventory stub, seeds a catalog and drives each scenario at a fixed
+// arrival rate. With -Dloadtest.serve-only=true it stops after seeding so an external tool can drive it.
+// All settings are system properties; see the Load Testing section of the README.
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int productCount = Integer.getInteger("loadtest.products", 100_000);
+        int rootCount = Integer.getInteger("loadtest.categories.roots", 4);
+        int depth = Integer.getInteger("loadtest.categories.depth", 6);
+        int fanOut = Integer.getInteger("loadtest.categories.fan-out", 3);
+        int port = Integer.getInteger("loadtest.port", 8082);
+        // The dev profile turns the Redis-backed caches off; with loadtest.caches=true a local Redis is required
+        boolean caches = Boolean.getBoolean("loadtest.caches");
+
+        InventoryStubServer inventory = new InventoryStubServer(
+                Integer.getInteger("loadtest.inventory.port", 18081),
+                Long.getLong("loadtest.inventory.latency-ms", 20),
+                Long.getLong("loadtest.inventory.jitter-ms", 10),
+                Double.parseDouble(System.getProperty("loadtest.inventory.error-rate", "0.01")));
+        inventory.start();
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CatalogServiceApplication.class)
+                .profiles("dev")
+                .properties(
+                        "server.port=" + port,
+                        "spring.datasource.url=jdbc:h2:mem:catalog-loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.soulf.catalog=INFO",
+                        "logging.level.org.springframework=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.org.hibernate=WARN",
+                        "product.cache.enabled=" + caches,
+                        "product.listing-cache.enabled=" + caches,
+                        "inventory.cache.l2-enabled=" + caches,
+                        "inventory.service.url=" + inventory.baseUrl(),
+                        "inventory.events.enabled=false",
+                        "invalidation.enabled=false",
+                        "outbox.relay.enabled=false")
+                .run(args);
+
+        long seedingStartedAt = System.currentTimeMillis();
+        CatalogSeeder.SeededCatalog catalog = new CatalogSeeder(
+                context.getBean(CategoryService.class), context.getBean(ProductService.class))
+                .seed(rootCount, depth, fanOut, productCount);
+        System.out.printf("Seeded %d products over %d leaf categories in %d ms%n",
+                catalog.productIds().size(), catalog.leafCategoryIds().size(), System.currentTimeMillis() - seedingStartedAt);
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        if (Boolean.getBoolean("loadtest.serve-only")) {
+            System.out.println("Catalog service ready at " + baseUrl + ", inventory stub at " + inventory.baseUrl());
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                context.close();
+                inventory.close();
+            }));
+            Thread.currentThread().join();
+            return;
+        }
+
+        try {
+            run(baseUrl, catalog);
+        } finally {
+            context.close();
+            inventory.close();
+        }
+    }
+
+    private static void run(String baseUrl, CatalogSeeder.SeededCatalog catalog) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        List<String> selected = List.of(System.getProperty("loadtest.scenarios",
+                "product-by-id,product-by-sku,category-page,subtree-summary,search,category-roots,category-breadcrumb").split(","));
+
+        Map<String, Supplier<String>> scenarios = scenarios(catalog);
+        LoadDriver driver = new LoadDriver(baseUrl, Duration.ofSeconds(5));
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String name : selected.stream().map(String::trim).toList()) {
+            Supplier<String> paths = scenarios.get(name);
+            if (paths == null) {
+                throw new IllegalArgumentException("Unknown scenario " + name + "; supported: " + scenarios.keySet());
+            }
+            if (!warmup.isZero()) {
+                driver.run(name, paths, rate, warmup);
+            }
+            Map<String, Object> result = driver.run(name, paths, rate, duration);
+            results.add(result);
+            System.out.printf("%-20s rate=%6.1f/s done=%6d err=%5d tput=%7.1f/s p50=%7.2fms p90=%7.2fms p99=%7.2fms p999=%7.2fms max=%7.2fms%n",
+                    result.get("scenario"), rate, result.get("completed"), result.get("errors"), result.get("throughput"),
+                    result.get("p50Ms"), result.get("p90Ms"), result.get("p99Ms"), result.get("p999Ms"), result.get("maxMs"));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", Instant.now().toString());
+        report.put("products", catalog.productIds().size());
+        report.put("caches", Boolean.getBoolean("loadtest.caches"));
+        report.put("inventoryLatencyMs", Long.getLong("loadtest.inventory.latency-ms", 20));
+        report.put("inventoryErrorRate", Double.parseDouble(System.getProperty("loadtest.inventory.error-rate", "0.01")));
+        report.put("scenarios", results);
+        Path output = Path.of(System.getProperty("loadtest.report", "build/reports/loadtest/results.json"));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.println("Report written to " + output.toAbsolutePath());
+    }
+
+    private static Map<String, Supplier<String>> scenarios(CatalogSeeder.SeededCatalog catalog) {
+        Map<String, Supplier<String>> scenarios = new LinkedHashMap<>();
+        scenarios.put("product-by-id", () -> "/api/products/" + pick(catalog.productIds()));
+        scenarios.put("product-by-sku", () -> "/api/products/sku/" + pick(catalog.skus()));
+        scenarios.put("category-page", () -> "/api/products/category/" + pick(catalog.leafCategoryIds())
+                + "?page=" + ThreadLocalRandom.current().nextInt(5));
+        scenarios.put("subtree-summary", () -> "/api/products/category/" + pick(catalog.rootCategoryIds())
+                + "?includeDescendants=true&view=summary&page=" + ThreadLocalRandom.current().nextInt(20));
+        scenarios.put("search", () -> "/api/products/search?name=" + pick(CatalogFixtures.WORDS) + "&isActive=true");
+        scenarios.put("category-roots", () -> "/api/categories/roots");
+        scenarios.put("category-breadcrumb", () -> "/api/categories/" + pick(catalog.leafCategoryIds()) + "/breadcrumb");
+        return scenarios;
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
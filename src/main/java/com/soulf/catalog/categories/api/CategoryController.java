@@ -3,14 +3,23 @@ package com.soulf.catalog.categories.api;
 import com.soulf.catalog.categories.api.dto.CategoryDTO;
 import com.soulf.catalog.categories.core.CategoryService;
 import com.soulf.catalog.categories.core.domain.Category;
+import com.soulf.catalog.categories.core.tree.CategoryNode;
+import com.soulf.catalog.categories.core.tree.CategoryTree;
+import com.soulf.catalog.shared.api.EntityTags;
+import com.soulf.catalog.shared.exception.ResourceNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -21,30 +30,60 @@ public class CategoryController {
 
     private final CategoryService categoryService;
 
+    @Value("${category.http.max-age:5m}")
+    private Duration maxAge;
+
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> getAllCategories() {
-        List<Category> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories.stream()
-                .map(this::toDTO)
+    public ResponseEntity<List<CategoryDTO>> getAllCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CategoryTree tree = categoryService.getCategoryTree();
+        return conditional(treeTag(tree), ifNoneMatch, () -> tree.all().stream()
+                .filter(CategoryNode::active)
+                .map(node -> toDTO(tree, node))
                 .collect(Collectors.toList()));
     }
 
     @GetMapping("/roots")
-    public ResponseEntity<List<CategoryDTO>> getRootCategories() {
-        List<Category> categories = categoryService.getRootCategories();
-        return ResponseEntity.ok(buildCategoryTree(categories));
+    public ResponseEntity<List<CategoryDTO>> getRootCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CategoryTree tree = categoryService.getCategoryTree();
+        return conditional(treeTag(tree), ifNoneMatch, () -> tree.roots().stream()
+                .filter(CategoryNode::active)
+                .map(node -> buildCategoryTree(tree, node))
+                .collect(Collectors.toList()));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id) {
-        Category category = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(buildCategoryTree(category));
+    public ResponseEntity<CategoryDTO> getCategoryById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CategoryTree tree = categoryService.getCategoryTree();
+        CategoryNode category = tree.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+        return conditional(categoryTag(tree, category), ifNoneMatch, () -> buildCategoryTree(tree, category));
+    }
+
+    @GetMapping("/{id}/breadcrumb")
+    public ResponseEntity<List<CategoryDTO>> getBreadcrumb(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CategoryTree tree = categoryService.getCategoryTree();
+        if (tree.findById(id).isEmpty()) {
+            throw new ResourceNotFoundException("Category not found with id: " + id);
+        }
+        return conditional(treeTag(tree), ifNoneMatch, () -> tree.path(id).stream()
+                .map(node -> toDTO(tree, node))
+                .collect(Collectors.toList()));
     }
 
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<CategoryDTO> getCategoryBySlug(@PathVariable String slug) {
-        Category category = categoryService.getCategoryBySlug(slug);
-        return ResponseEntity.ok(buildCategoryTree(category));
+    public ResponseEntity<CategoryDTO> getCategoryBySlug(
+            @PathVariable String slug,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CategoryTree tree = categoryService.getCategoryTree();
+        CategoryNode category = tree.findBySlug(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with slug: " + slug));
+        return conditional(categoryTag(tree, category), ifNoneMatch, () -> buildCategoryTree(tree, category));
     }
 
     @PostMapping
@@ -60,13 +99,15 @@ public class CategoryController {
     @PutMapping("/{id}")
     public ResponseEntity<CategoryDTO> updateCategory(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody CategoryDTO categoryDTO) {
         Category category = categoryService.updateCategory(
                 id,
                 categoryDTO.getName(),
                 categoryDTO.getDescription(),
                 categoryDTO.getSlug(),
-                categoryDTO.getParentCategoryId());
+                categoryDTO.getParentCategoryId(),
+                EntityTags.expectedVersion(ifMatch, id));
         return ResponseEntity.ok(buildCategoryTree(category));
     }
 
@@ -82,9 +123,28 @@ public class CategoryController {
         return ResponseEntity.noContent().build();
     }
 
+    // Every read is served from one tree snapshot, so the snapshot version tags all of them and a 304 needs no DTOs
+    private static String treeTag(CategoryTree tree) {
+        return EntityTags.of("c", Long.toHexString(tree.version()));
+    }
+
+    // Single-category responses embed subcategories, so their tag also carries the snapshot version
+    private static String categoryTag(CategoryTree tree, CategoryNode category) {
+        return EntityTags.of(category.id(), category.version(), Long.toHexString(tree.version()));
+    }
+
+    private <T> ResponseEntity<T> conditional(String etag, String ifNoneMatch, Supplier<T> body) {
+        CacheControl cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+
     private CategoryDTO toDTO(Category category) {
         return CategoryDTO.builder()
                 .id(category.getId())
+                .version(category.getVersion())
                 .name(category.getName())
                 .description(category.getDescription())
                 .slug(category.getSlug())
@@ -109,10 +169,28 @@ public class CategoryController {
         return categoryDTO;
     }
 
-    private List<CategoryDTO> buildCategoryTree(List<Category> categories) {
-        return categories.stream()
-                .map(this::buildCategoryTree)
-                .collect(Collectors.toList());
+    private CategoryDTO toDTO(CategoryTree tree, CategoryNode node) {
+        CategoryNode parent = tree.parent(node.id()).orElse(null);
+        return CategoryDTO.builder()
+                .id(node.id())
+                .version(node.version())
+                .name(node.name())
+                .description(node.description())
+                .slug(node.slug())
+                .parentCategoryId(parent != null ? parent.id() : null)
+                .parentCategoryName(parent != null ? parent.name() : null)
+                .isActive(node.active())
+                .displayOrder(node.displayOrder())
+                .build();
+    }
+
+    private CategoryDTO buildCategoryTree(CategoryTree tree, CategoryNode node) {
+        CategoryDTO categoryDTO = toDTO(tree, node);
+        categoryDTO.setSubCategories(tree.children(node.id()).stream()
+                .filter(CategoryNode::active)
+                .map(child -> buildCategoryTree(tree, child))
+                .collect(Collectors.toList()));
+        return categoryDTO;
     }
 }
 
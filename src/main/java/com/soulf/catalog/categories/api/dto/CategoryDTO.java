@@ -17,6 +17,8 @@ public class CategoryDTO {
 
     private Long id;
 
+    private Long version;
+
     @NotBlank(message = "Name is required")
     private String name;
 
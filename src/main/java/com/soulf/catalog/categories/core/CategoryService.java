@@ -1,47 +1,47 @@
 package com.soulf.catalog.categories.core;
 
 import com.soulf.catalog.categories.core.domain.Category;
+import com.soulf.catalog.categories.core.events.CategoryChangeType;
+import com.soulf.catalog.categories.core.events.CategoryChangedEvent;
+import com.soulf.catalog.categories.core.repository.CategoryPath;
 import com.soulf.catalog.categories.core.repository.CategoryRepository;
+import com.soulf.catalog.categories.core.tree.CategoryTree;
+import com.soulf.catalog.categories.infrastructure.cache.CategoryTreeCache;
+import com.soulf.catalog.shared.exception.PreconditionFailedException;
 import com.soulf.catalog.shared.exception.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "catalog.service", description = "Core service calls by class and method")
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional(readOnly = true)
-    public List<Category> getAllCategories() {
-        log.info("Fetching all active categories");
-        return categoryRepository.findByIsActiveTrue();
-    }
-
-    @Transactional(readOnly = true)
-    public List<Category> getRootCategories() {
-        log.info("Fetching root categories");
-        return categoryRepository.findByParentCategoryIsNullAndIsActiveTrue();
-    }
-
-    @Transactional(readOnly = true)
-    public Category getCategoryById(Long id) {
-        log.info("Fetching category with id: {}", id);
-        return categoryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
-    }
-
-    @Transactional(readOnly = true)
-    public Category getCategoryBySlug(String slug) {
-        log.info("Fetching category with slug: {}", slug);
-        return categoryRepository.findBySlug(slug)
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found with slug: " + slug));
+    public CategoryTree getCategoryTree() {
+        return categoryTreeCache.get();
     }
 
     @Transactional
@@ -66,21 +66,36 @@ public class CategoryService {
         }
 
         Category savedCategory = categoryRepository.save(category);
+        savedCategory.setPath(childPath(savedCategory.getParentCategory(), savedCategory.getId()));
+        // Setting the path dirties the new row, so flush to settle the version the event carries
+        categoryRepository.flush();
+        eventPublisher.publishEvent(CategoryChangedEvent.of(
+                CategoryChangeType.CREATED, savedCategory.getId(), savedCategory.getVersion()));
         log.info("Category created successfully with id: {}", savedCategory.getId());
         return savedCategory;
     }
 
     @Transactional
-    public Category updateCategory(Long id, String name, String description, String slug, Long parentCategoryId) {
+    public Category updateCategory(
+            Long id, String name, String description, String slug, Long parentCategoryId, Long expectedVersion) {
         log.info("Updating category with id: {}", id);
 
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(category.getVersion())) {
+            throw new PreconditionFailedException("Category " + id + " is at version " + category.getVersion()
+                    + ", not " + expectedVersion);
+        }
 
         if (!category.getName().equals(name) && categoryRepository.findByName(name).isPresent()) {
             throw new IllegalArgumentException("Category with name " + name + " already exists");
         }
 
+        if (parentCategoryId != null && categoryTreeCache.get().isSelfOrDescendant(id, parentCategoryId)) {
+            throw new IllegalArgumentException("Category cannot be moved under itself or one of its subcategories");
+        }
+
+        boolean renamed = !category.getName().equals(name);
         category.setName(name);
         category.setDescription(description);
         if (!category.getName().equals(name)) {
@@ -98,7 +113,18 @@ public class CategoryService {
             category.setParentCategory(null);
         }
 
-        Category updatedCategory = categoryRepository.save(category);
+        String path = childPath(category.getParentCategory(), id);
+        Set<Long> ancestorIds = Set.of();
+        if (category.getPath() != null && !category.getPath().equals(path)) {
+            int moved = categoryRepository.replacePathPrefix(category.getPath(), path);
+            log.info("Moved {} categories under new path {}", moved, path);
+            ancestorIds = ancestorIds(category.getPath(), path);
+        }
+        category.setPath(path);
+
+        Category updatedCategory = categoryRepository.saveAndFlush(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(
+                CategoryChangeType.UPDATED, id, renamed, ancestorIds, updatedCategory.getVersion()));
         log.info("Category updated successfully with id: {}", updatedCategory.getId());
         return updatedCategory;
     }
@@ -115,6 +141,8 @@ public class CategoryService {
         }
 
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(
+                CategoryChangeType.DELETED, id, false, ancestorIds(category.getPath()), category.getVersion() + 1));
         log.info("Category deleted successfully with id: {}", id);
     }
 
@@ -124,10 +152,74 @@ public class CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
         category.setIsActive(false);
-        categoryRepository.save(category);
+        categoryRepository.saveAndFlush(category);
+        eventPublisher.publishEvent(CategoryChangedEvent.of(CategoryChangeType.DEACTIVATED, id, category.getVersion()));
         log.info("Category deactivated successfully with id: {}", id);
     }
 
+    // Fills in or repairs materialized paths, e.g. for categories created before the column existed. Every replica
+    // runs it at startup, so each row is rewritten by a version-guarded UPDATE: a replica that loses the race
+    // matches no row instead of failing. A failure is logged and leaves startup alone; the next start retries.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPaths() {
+        try {
+            Integer updated = transactionTemplate.execute(status -> rewriteStalePaths());
+            if (updated != null && updated > 0) {
+                log.info("Backfilled materialized paths for {} categories", updated);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to backfill category paths. Error: {}", e.getMessage());
+        }
+    }
+
+    // Rewritten rows publish UPDATED events like any other write, so caches, the tree and consumers hear of them
+    private int rewriteStalePaths() {
+        List<CategoryPath> categories = categoryRepository.findAllPaths();
+        Map<Long, Long> parentIds = new HashMap<>();
+        categories.forEach(category -> parentIds.put(category.getId(), category.getParentId()));
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (CategoryPath category : categories) {
+            String path = computePath(category.getId(), parentIds);
+            if (path.equals(category.getPath())
+                    || categoryRepository.updatePathIfUnchanged(category.getId(), category.getVersion(), path, now) == 0) {
+                continue;
+            }
+            updated++;
+            Set<Long> ancestorIds = category.getPath() != null ? ancestorIds(category.getPath(), path) : ancestorIds(path);
+            eventPublisher.publishEvent(new CategoryChangedEvent(
+                    CategoryChangeType.UPDATED, category.getId(), false, ancestorIds, category.getVersion() + 1));
+        }
+        return updated;
+    }
+
+    private String computePath(Long id, Map<Long, Long> parentIds) {
+        Deque<Long> ids = new ArrayDeque<>();
+        Set<Long> seen = new HashSet<>();
+        Long current = id;
+        while (current != null && seen.add(current)) {
+            ids.addFirst(current);
+            current = parentIds.get(current);
+        }
+        return ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining("/", "/", "/"));
+    }
+
+    private static Set<Long> ancestorIds(String... paths) {
+        Set<Long> ids = new HashSet<>();
+        for (String path : paths) {
+            List<Long> lineage = CategoryTree.idsOnPath(path);
+            ids.addAll(lineage.subList(0, Math.max(0, lineage.size() - 1)));
+        }
+        return Set.copyOf(ids);
+    }
+
+    private String childPath(Category parent, Long id) {
+        String parentPath = parent != null && parent.getPath() != null ? parent.getPath() : "/";
+        return parentPath + id + "/";
+    }
+
     private String generateSlug(String name) {
         return name.toLowerCase()
                 .replaceAll("[^a-z0-9]+", "-")
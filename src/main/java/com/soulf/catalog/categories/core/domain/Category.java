@@ -6,13 +6,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = @Index(name = "idx_categories_path", columnList = "path"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,6 +24,12 @@ public class Category {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Product tags carry it too, since products embed the category name
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @NotBlank(message = "Name is required")
     @Column(nullable = false, unique = true)
     private String name;
@@ -37,6 +44,10 @@ public class Category {
     @JoinColumn(name = "parent_category_id")
     private Category parentCategory;
 
+    // Ids from the root down to this category, e.g. /1/5/12/, so a subtree is a single prefix match
+    @Column(name = "path", length = 1000)
+    private String path;
+
     @OneToMany(mappedBy = "parentCategory", cascade = CascadeType.ALL)
     @Builder.Default
     private List<Category> subCategories = new ArrayList<>();
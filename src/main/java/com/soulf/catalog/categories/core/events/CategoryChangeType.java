@@ -0,0 +1,8 @@
+package com.soulf.catalog.categories.core.events;
+
+public enum CategoryChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    DEACTIVATED
+}
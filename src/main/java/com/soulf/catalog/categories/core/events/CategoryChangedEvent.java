@@ -0,0 +1,21 @@
+package com.soulf.catalog.categories.core.events;
+
+import lombok.Value;
+
+import java.util.Set;
+
+@Value
+public class CategoryChangedEvent {
+
+    CategoryChangeType type;
+    Long categoryId;
+    boolean renamed;
+    // Ancestors before and after a move or delete, whose subtrees gained or lost this category
+    Set<Long> ancestorIds;
+    // Version the category is at after the change; a deleted category gets one past its last version
+    Long version;
+
+    public static CategoryChangedEvent of(CategoryChangeType type, Long categoryId, Long version) {
+        return new CategoryChangedEvent(type, categoryId, false, Set.of(), version);
+    }
+}
@@ -0,0 +1,8 @@
+package com.soulf.catalog.categories.core.repository;
+
+public interface CategoryPath {
+    Long getId();
+    Long getParentId();
+    String getPath();
+    Long getVersion();
+}
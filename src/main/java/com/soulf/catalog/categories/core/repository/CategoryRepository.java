@@ -2,8 +2,12 @@ package com.soulf.catalog.categories.core.repository;
 
 import com.soulf.catalog.categories.core.domain.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,5 +23,24 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findByParentCategoryId(Long parentCategoryId);
 
     List<Category> findByIsActiveTrue();
+
+    @Query("SELECT c.path FROM Category c WHERE c.id = :id")
+    Optional<String> findPathById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Category c SET c.path = CONCAT(:newPrefix, SUBSTRING(c.path, LENGTH(:oldPrefix) + 1)) " +
+           "WHERE c.path LIKE CONCAT(:oldPrefix, '%')")
+    int replacePathPrefix(@Param("oldPrefix") String oldPrefix, @Param("newPrefix") String newPrefix);
+
+    @Query("SELECT c.id AS id, p.id AS parentId, c.path AS path, c.version AS version " +
+           "FROM Category c LEFT JOIN c.parentCategory p ORDER BY c.id")
+    List<CategoryPath> findAllPaths();
+
+    // Matches nothing once another writer has changed the row, so concurrent callers never conflict
+    @Modifying
+    @Query("UPDATE Category c SET c.path = :path, c.version = c.version + 1, c.updatedAt = :updatedAt " +
+           "WHERE c.id = :id AND c.version = :version AND (c.path IS NULL OR c.path <> :path)")
+    int updatePathIfUnchanged(@Param("id") Long id, @Param("version") Long version, @Param("path") String path,
+                              @Param("updatedAt") LocalDateTime updatedAt);
 }
 
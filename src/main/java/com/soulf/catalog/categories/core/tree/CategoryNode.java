@@ -0,0 +1,12 @@
+package com.soulf.catalog.categories.core.tree;
+
+public record CategoryNode(
+        Long id,
+        Long parentId,
+        String name,
+        String description,
+        String slug,
+        boolean active,
+        Integer displayOrder,
+        Long version) {
+}
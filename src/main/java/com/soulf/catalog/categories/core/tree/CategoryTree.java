@@ -0,0 +1,216 @@
+package com.soulf.catalog.categories.core.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+// Immutable snapshot of the whole category tree. Nodes are stored in pre-order, so a subtree is the contiguous
+// range [index, subtreeEnd) and ancestor checks are two comparisons.
+public final class CategoryTree {
+
+    private static final Comparator<CategoryNode> SIBLING_ORDER = Comparator
+            .comparing(CategoryNode::displayOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(CategoryNode::id);
+
+    private final CategoryNode[] nodes;
+    private final int[] parents;
+    private final int[][] children;
+    private final int[] subtreeEnds;
+    private final int[][] ancestors;
+    private final int[] roots;
+    private final Map<Long, Integer> indexById;
+    private final Map<String, Integer> indexBySlug;
+    private final long version;
+
+    private CategoryTree(Builder builder, int[] roots) {
+        this.nodes = builder.nodes;
+        this.parents = builder.parents;
+        this.children = builder.children;
+        this.subtreeEnds = builder.subtreeEnds;
+        this.ancestors = builder.ancestors;
+        this.indexById = Map.copyOf(builder.indexById);
+        this.indexBySlug = Map.copyOf(builder.indexBySlug);
+        this.roots = roots;
+        this.version = contentVersion(nodes);
+    }
+
+    // Ids on a materialized path such as "/1/5/9/", root first
+    public static List<Long> idsOnPath(String path) {
+        if (path == null) {
+            return List.of();
+        }
+        return Arrays.stream(path.split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .map(Long::valueOf)
+                .toList();
+    }
+
+    // Categories whose parent is missing, or that sit on a parent cycle, are treated as roots
+    public static CategoryTree of(Collection<CategoryNode> categories) {
+        Map<Long, CategoryNode> byId = HashMap.newHashMap(categories.size());
+        categories.forEach(node -> byId.put(node.id(), node));
+        Map<Long, List<CategoryNode>> byParent = new HashMap<>();
+        List<CategoryNode> topLevel = new ArrayList<>();
+        for (CategoryNode node : categories) {
+            if (node.parentId() == null || !byId.containsKey(node.parentId())) {
+                topLevel.add(node);
+            } else {
+                byParent.computeIfAbsent(node.parentId(), id -> new ArrayList<>()).add(node);
+            }
+        }
+        byParent.values().forEach(siblings -> siblings.sort(SIBLING_ORDER));
+        topLevel.sort(SIBLING_ORDER);
+
+        Builder builder = new Builder(categories.size(), byParent);
+        List<Integer> roots = new ArrayList<>();
+        for (CategoryNode root : topLevel) {
+            roots.add(builder.visit(root, -1, new int[0]));
+        }
+        List<CategoryNode> unreached = categories.stream()
+                .filter(node -> !builder.indexById.containsKey(node.id()))
+                .sorted(SIBLING_ORDER)
+                .toList();
+        for (CategoryNode node : unreached) {
+            if (!builder.indexById.containsKey(node.id())) {
+                roots.add(builder.visit(node, -1, new int[0]));
+            }
+        }
+        return new CategoryTree(builder, roots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // Derived from content only, so every node holding the same categories reports the same version
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    public Optional<CategoryNode> findById(Long id) {
+        Integer index = indexById.get(id);
+        return index != null ? Optional.of(nodes[index]) : Optional.empty();
+    }
+
+    public Optional<CategoryNode> findBySlug(String slug) {
+        Integer index = slug != null ? indexBySlug.get(slug) : null;
+        return index != null ? Optional.of(nodes[index]) : Optional.empty();
+    }
+
+    public List<CategoryNode> all() {
+        return List.of(nodes);
+    }
+
+    public List<CategoryNode> roots() {
+        return toNodes(roots);
+    }
+
+    public List<CategoryNode> children(Long id) {
+        Integer index = indexById.get(id);
+        return index != null ? toNodes(children[index]) : List.of();
+    }
+
+    public Optional<CategoryNode> parent(Long id) {
+        Integer index = indexById.get(id);
+        return index != null && parents[index] >= 0 ? Optional.of(nodes[parents[index]]) : Optional.empty();
+    }
+
+    // Root first, ending with the category itself
+    public List<CategoryNode> path(Long id) {
+        Integer index = indexById.get(id);
+        if (index == null) {
+            return List.of();
+        }
+        List<CategoryNode> path = new ArrayList<>(ancestors[index].length + 1);
+        for (int ancestor : ancestors[index]) {
+            path.add(nodes[ancestor]);
+        }
+        path.add(nodes[index]);
+        return List.copyOf(path);
+    }
+
+    // The category itself followed by all of its descendants
+    public List<Long> subtreeIds(Long id) {
+        Integer index = indexById.get(id);
+        if (index == null) {
+            return List.of();
+        }
+        return Arrays.stream(nodes, index, subtreeEnds[index])
+                .map(CategoryNode::id)
+                .toList();
+    }
+
+    public boolean isSelfOrDescendant(Long ancestorId, Long id) {
+        Integer ancestor = indexById.get(ancestorId);
+        Integer index = indexById.get(id);
+        return ancestor != null && index != null && index >= ancestor && index < subtreeEnds[ancestor];
+    }
+
+    private static long contentVersion(CategoryNode[] nodes) {
+        long hash = 1;
+        for (CategoryNode node : nodes) {
+            hash = 31 * hash + Objects.hash(node.id(), node.parentId(), node.name(), node.description(),
+                    node.slug(), node.active(), node.displayOrder(), node.version());
+        }
+        return hash;
+    }
+
+    private List<CategoryNode> toNodes(int[] indexes) {
+        return Arrays.stream(indexes)
+                .mapToObj(index -> nodes[index])
+                .toList();
+    }
+
+    private static final class Builder {
+
+        private final Map<Long, List<CategoryNode>> byParent;
+        private final CategoryNode[] nodes;
+        private final int[] parents;
+        private final int[][] children;
+        private final int[] subtreeEnds;
+        private final int[][] ancestors;
+        private final Map<Long, Integer> indexById;
+        private final Map<String, Integer> indexBySlug;
+        private int next;
+
+        Builder(int size, Map<Long, List<CategoryNode>> byParent) {
+            this.byParent = byParent;
+            this.nodes = new CategoryNode[size];
+            this.parents = new int[size];
+            this.children = new int[size][];
+            this.subtreeEnds = new int[size];
+            this.ancestors = new int[size][];
+            this.indexById = HashMap.newHashMap(size);
+            this.indexBySlug = HashMap.newHashMap(size);
+        }
+
+        int visit(CategoryNode node, int parent, int[] path) {
+            int index = next++;
+            nodes[index] = node;
+            parents[index] = parent;
+            ancestors[index] = path;
+            indexById.put(node.id(), index);
+            if (node.slug() != null) {
+                indexBySlug.put(node.slug(), index);
+            }
+
+            int[] childPath = Arrays.copyOf(path, path.length + 1);
+            childPath[path.length] = index;
+            List<Integer> childIndexes = new ArrayList<>();
+            for (CategoryNode child : byParent.getOrDefault(node.id(), List.of())) {
+                if (!indexById.containsKey(child.id())) {
+                    childIndexes.add(visit(child, index, childPath));
+                }
+            }
+            children[index] = childIndexes.stream().mapToInt(Integer::intValue).toArray();
+            subtreeEnds[index] = next;
+            return index;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.soulf.catalog.categories.infrastructure.cache;
+
+import com.soulf.catalog.categories.core.domain.Category;
+import com.soulf.catalog.categories.core.events.CategoryChangedEvent;
+import com.soulf.catalog.categories.core.repository.CategoryRepository;
+import com.soulf.catalog.categories.core.tree.CategoryNode;
+import com.soulf.catalog.categories.core.tree.CategoryTree;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class CategoryTreeCache {
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate readTransaction;
+    private volatile CategoryTree tree;
+
+    public CategoryTreeCache(CategoryRepository categoryRepository, PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    // Readers never lock: they get whichever snapshot was published last
+    public CategoryTree get() {
+        CategoryTree current = tree;
+        return current != null ? current : load();
+    }
+
+    // Rebuilds are serialized and read after the triggering commit, so the last one to finish is never older
+    public synchronized CategoryTree rebuild() {
+        long startedAt = System.currentTimeMillis();
+        List<CategoryNode> nodes = readTransaction.execute(status -> categoryRepository.findAll().stream()
+                .map(this::toNode)
+                .toList());
+        CategoryTree rebuilt = CategoryTree.of(nodes != null ? nodes : List.of());
+        tree = rebuilt;
+        log.info("Category tree rebuilt with {} categories in {} ms",
+                rebuilt.size(), System.currentTimeMillis() - startedAt);
+        return rebuilt;
+    }
+
+    private synchronized CategoryTree load() {
+        CategoryTree current = tree;
+        return current != null ? current : rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Failed to build category tree on startup; it will be built on first use. Error: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            tree = null;
+            log.warn("Failed to rebuild category tree after change to category {}. Error: {}",
+                    event.getCategoryId(), e.getMessage());
+        }
+    }
+
+    private CategoryNode toNode(Category category) {
+        return new CategoryNode(
+                category.getId(),
+                category.getParentCategory() != null ? category.getParentCategory().getId() : null,
+                category.getName(),
+                category.getDescription(),
+                category.getSlug(),
+                Boolean.TRUE.equals(category.getIsActive()),
+                category.getDisplayOrder(),
+                category.getVersion());
+    }
+}
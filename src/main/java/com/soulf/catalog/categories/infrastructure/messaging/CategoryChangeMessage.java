@@ -0,0 +1,7 @@
+package com.soulf.catalog.categories.infrastructure.messaging;
+
+import java.time.Instant;
+
+// Version orders changes per category, so consumers drop anything older than what they have applied
+public record CategoryChangeMessage(String eventType, Long categoryId, Long version, boolean renamed, Instant occurredAt) {
+}
@@ -0,0 +1,38 @@
+package com.soulf.catalog.categories.infrastructure.messaging;
+
+import com.soulf.catalog.categories.core.events.CategoryChangedEvent;
+import com.soulf.catalog.categories.infrastructure.cache.CategoryTreeCache;
+import com.soulf.catalog.shared.invalidation.InvalidationBus;
+import com.soulf.catalog.shared.invalidation.InvalidationHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class CategoryInvalidationListener implements InvalidationHandler {
+
+    public static final String ENTITY_TYPE = "category";
+
+    private final InvalidationBus invalidationBus;
+    private final CategoryTreeCache categoryTreeCache;
+
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidationBus.publish(ENTITY_TYPE, Map.of(event.getCategoryId(), event.getVersion()));
+    }
+
+    @Override
+    public String entityType() {
+        return ENTITY_TYPE;
+    }
+
+    // The tree is one snapshot, so any number of changed categories in a batch cost a single rebuild
+    @Override
+    public void invalidate(Set<Long> ids) {
+        categoryTreeCache.rebuild();
+    }
+}
@@ -0,0 +1,29 @@
+package com.soulf.catalog.categories.infrastructure.messaging;
+
+import com.soulf.catalog.categories.core.events.CategoryChangedEvent;
+import com.soulf.catalog.shared.outbox.OutboxWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+@Component
+@RequiredArgsConstructor
+public class CategoryOutboxListener {
+
+    private final OutboxWriter outboxWriter;
+
+    @Value("${catalog.events.category-topic:catalog.category-events}")
+    private String topic;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        String eventType = "CATEGORY_" + event.getType();
+        outboxWriter.append(topic, event.getCategoryId().toString(), eventType,
+                new CategoryChangeMessage(eventType, event.getCategoryId(), event.getVersion(), event.isRenamed(),
+                        Instant.now()));
+    }
+}
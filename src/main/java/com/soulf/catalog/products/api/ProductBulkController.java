@@ -0,0 +1,151 @@
+package com.soulf.catalog.products.api;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.soulf.catalog.products.api.dto.ProductDTO;
+import com.soulf.catalog.products.api.dto.ProductBulkItemDTO;
+import com.soulf.catalog.products.api.dto.ProductImportResultDTO;
+import com.soulf.catalog.products.api.dto.ProductPatchDTO;
+import com.soulf.catalog.products.api.dto.ProductPatchResultDTO;
+import com.soulf.catalog.products.core.ProductService;
+import com.soulf.catalog.products.core.commands.CreateProductCommand;
+import com.soulf.catalog.products.core.commands.PatchProductCommand;
+import com.soulf.catalog.products.core.results.ProductImportResult;
+import com.soulf.catalog.products.core.results.ProductPatchResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/products/bulk")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductBulkController {
+
+    private final ProductService productService;
+    private final ProductDTOMapper productDTOMapper;
+    private final ObjectMapper objectMapper;
+
+    // Accepts a JSON array or NDJSON and parses it item by item, so the payload is never held in memory at once.
+    // Chunks before a malformed item have already committed, so the import stops there and reports it as failed.
+    @PostMapping(consumes = {"application/json", "application/x-ndjson"})
+    public ResponseEntity<ProductImportResultDTO> importProducts(InputStream body) throws IOException {
+        try (MappingIterator<ProductDTO> products = objectMapper.readerFor(ProductDTO.class).readValues(body)) {
+            ParsingIterator commands = new ParsingIterator(products);
+            List<ProductImportResult> results = new ArrayList<>(productService.importProducts(commands));
+            if (commands.error != null) {
+                results.add(ProductImportResult.failed(results.size(), null, commands.error));
+            }
+            return ResponseEntity.ok(toResultDTO(results));
+        }
+    }
+
+    @PatchMapping
+    public ResponseEntity<ProductPatchResultDTO> patchProducts(@RequestBody List<ProductPatchDTO> patches) {
+        List<PatchProductCommand> commands = patches.stream()
+                .map(patch -> PatchProductCommand.builder()
+                        .id(patch.getId())
+                        .sku(patch.getSku())
+                        .price(patch.getPrice())
+                        .isActive(patch.getIsActive())
+                        .isVisible(patch.getIsVisible())
+                        .expectedVersion(patch.getVersion())
+                        .build())
+                .toList();
+        return ResponseEntity.ok(toPatchResultDTO(productService.patchProducts(commands)));
+    }
+
+    private ProductImportResultDTO toResultDTO(List<ProductImportResult> results) {
+        int created = (int) results.stream().filter(ProductImportResult::isCreated).count();
+        return ProductImportResultDTO.builder()
+                .total(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .items(results.stream()
+                        .map(result -> ProductBulkItemDTO.builder()
+                                .index(result.getIndex())
+                                .sku(result.getSku())
+                                .status(result.isCreated() ? "CREATED" : "FAILED")
+                                .id(result.getProductId())
+                                .error(result.getError())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private ProductPatchResultDTO toPatchResultDTO(List<ProductPatchResult> results) {
+        int updated = (int) results.stream().filter(ProductPatchResult::isUpdated).count();
+        return ProductPatchResultDTO.builder()
+                .total(results.size())
+                .updated(updated)
+                .failed(results.size() - updated)
+                .items(results.stream()
+                        .map(result -> ProductBulkItemDTO.builder()
+                                .index(result.getIndex())
+                                .sku(result.getSku())
+                                .status(result.isUpdated() ? "UPDATED" : "FAILED")
+                                .id(result.getProductId())
+                                .error(result.getError())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    // Reads one item ahead, so a malformed item ends the iteration instead of throwing into the import
+    private final class ParsingIterator implements Iterator<CreateProductCommand> {
+
+        private final MappingIterator<ProductDTO> products;
+        private ProductDTO nextProduct;
+        private boolean buffered;
+        private String error;
+
+        private ParsingIterator(MappingIterator<ProductDTO> products) {
+            this.products = products;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (buffered) {
+                return true;
+            }
+            if (error != null) {
+                return false;
+            }
+            try {
+                if (products.hasNext()) {
+                    nextProduct = products.next();
+                    buffered = true;
+                }
+            } catch (RuntimeException e) {
+                if (!(e instanceof RuntimeJsonMappingException) && !(e.getCause() instanceof IOException)) {
+                    throw e;
+                }
+                error = "Malformed import payload: " + e.getMessage();
+            }
+            return buffered;
+        }
+
+        @Override
+        public CreateProductCommand next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            buffered = false;
+            return productDTOMapper.toCreateCommand(nextProduct);
+        }
+    }
+}
@@ -1,30 +1,46 @@
 package com.soulf.catalog.products.api;
 
-import com.soulf.catalog.products.api.dto.ProductAttributeDTO;
 import com.soulf.catalog.products.api.dto.ProductDTO;
-import com.soulf.catalog.products.api.dto.ProductImageDTO;
+import com.soulf.catalog.products.api.dto.ProductSummaryDTO;
 import com.soulf.catalog.products.core.ProductService;
 import com.soulf.catalog.products.core.commands.CreateProductCommand;
-import com.soulf.catalog.products.core.commands.ProductAttributeCommand;
-import com.soulf.catalog.products.core.commands.ProductImageCommand;
 import com.soulf.catalog.products.core.commands.UpdateProductCommand;
 import com.soulf.catalog.products.core.domain.Product;
-import com.soulf.catalog.products.core.domain.ProductAttribute;
-import com.soulf.catalog.products.core.domain.ProductImage;
+import com.soulf.catalog.products.core.repository.ProductSummary;
+import com.soulf.catalog.products.core.repository.ProductVersion;
+import com.soulf.catalog.products.infrastructure.cache.ProductCache;
+import com.soulf.catalog.products.infrastructure.cache.ProductListingCache;
 import com.soulf.catalog.products.infrastructure.provider.InventoryServiceProvider;
+import com.soulf.catalog.shared.api.EntityTags;
+import com.soulf.catalog.shared.api.dto.CursorPageDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -35,36 +51,69 @@ public class ProductController {
 
     private final ProductService productService;
     private final InventoryServiceProvider inventoryServiceProvider;
+    private final ProductDTOMapper productDTOMapper;
+    private final ProductCache productCache;
+    private final ProductListingCache productListingCache;
+    private final ProductCursorCodec productCursorCodec;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${product.http.max-age:30s}")
+    private Duration maxAge;
 
     @GetMapping
-    public ResponseEntity<Page<ProductDTO>> getAllProducts(
+    public ResponseEntity<Page<?>> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "ASC") String direction) {
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields) {
 
         Sort.Direction dir = Sort.Direction.fromString(direction);
         Pageable pageable = PageRequest.of(page, size, Sort.by(dir, sortBy));
-        Page<Product> products = productService.getAllProducts(pageable);
-        return ResponseEntity.ok(products.map(this::toDTO));
+        Set<ProductField> selected = ProductField.parse(view, fields);
+        if (selected != null) {
+            return ResponseEntity.ok(toSummaryPage(productService.getProductSummaries(pageable), selected));
+        }
+        return ResponseEntity.ok(cachedDTOPage(null, "all:" + pageKey(pageable), pageable,
+                () -> productService.getAllProducts(pageable)));
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<ProductDTO>> scrollProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        Sort sort = keysetSort(sortBy, direction);
+        Window<Product> products = productService.scrollAllProducts(productCursorCodec.decode(cursor, sort), sort, size);
+        Long total = includeTotal ? productService.countAllProducts() : null;
+        return ResponseEntity.ok(toCursorPage(products, total));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
-        Product product = productService.getProductById(id);
-        return ResponseEntity.ok(toDTO(product));
+    public ResponseEntity<ProductDTO> getProductById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(productCache.getById(id), () -> productService.getProductVersion(id), ifNoneMatch,
+                () -> toCachedDTO(productService.getProductById(id)));
     }
 
     @GetMapping("/sku/{sku}")
-    public ResponseEntity<ProductDTO> getProductBySku(@PathVariable String sku) {
-        Product product = productService.getProductBySku(sku);
-        return ResponseEntity.ok(toDTO(product));
+    public ResponseEntity<ProductDTO> getProductBySku(
+            @PathVariable String sku,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(productCache.getBySku(sku), () -> productService.getProductVersionBySku(sku), ifNoneMatch,
+                () -> toCachedDTO(productService.getProductBySku(sku)));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<ProductDTO>> searchProducts(
+    public ResponseEntity<Page<?>> searchProducts(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "false") boolean includeDescendants,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) Boolean isActive,
@@ -72,32 +121,90 @@ public class ProductController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "ASC") String direction) {
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields) {
 
         Sort.Direction dir = Sort.Direction.fromString(direction);
         Pageable pageable = PageRequest.of(page, size, Sort.by(dir, sortBy));
+        Set<ProductField> selected = ProductField.parse(view, fields);
+        if (selected != null) {
+            return ResponseEntity.ok(toSummaryPage(productService.searchProductSummaries(
+                    name, categoryId, includeDescendants, minPrice, maxPrice, isActive, isVisible, pageable), selected));
+        }
         Page<Product> products = productService.searchProducts(
-                name, categoryId, minPrice, maxPrice, isActive, isVisible, pageable);
-        return ResponseEntity.ok(products.map(this::toDTO));
+                name, categoryId, includeDescendants, minPrice, maxPrice, isActive, isVisible, pageable);
+        return ResponseEntity.ok(toDTOPage(products));
+    }
+
+    @GetMapping("/search/scroll")
+    public ResponseEntity<CursorPageDTO<ProductDTO>> scrollSearchProducts(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "false") boolean includeDescendants,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) Boolean isVisible,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        Sort sort = keysetSort(sortBy, direction);
+        Window<Product> products = productService.scrollSearchProducts(
+                name, categoryId, includeDescendants, minPrice, maxPrice, isActive, isVisible,
+                productCursorCodec.decode(cursor, sort), sort, size);
+        Long total = includeTotal
+                ? productService.countSearchProducts(
+                        name, categoryId, includeDescendants, minPrice, maxPrice, isActive, isVisible)
+                : null;
+        return ResponseEntity.ok(toCursorPage(products, total));
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<Page<ProductDTO>> getProductsByCategory(
+    public ResponseEntity<Page<?>> getProductsByCategory(
             @PathVariable Long categoryId,
+            @RequestParam(defaultValue = "false") boolean includeDescendants,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "ASC") String direction) {
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields) {
 
         Sort.Direction dir = Sort.Direction.fromString(direction);
         Pageable pageable = PageRequest.of(page, size, Sort.by(dir, sortBy));
-        Page<Product> products = productService.getProductsByCategory(categoryId, pageable);
-        return ResponseEntity.ok(products.map(this::toDTO));
+        Set<ProductField> selected = ProductField.parse(view, fields);
+        if (selected != null) {
+            return ResponseEntity.ok(toSummaryPage(
+                    productService.getProductSummariesByCategory(categoryId, includeDescendants, pageable), selected));
+        }
+        return ResponseEntity.ok(cachedDTOPage(categoryId, "category:" + includeDescendants + ":" + pageKey(pageable),
+                pageable, () -> productService.getProductsByCategory(categoryId, includeDescendants, pageable)));
+    }
+
+    @GetMapping("/category/{categoryId}/scroll")
+    public ResponseEntity<CursorPageDTO<ProductDTO>> scrollProductsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(defaultValue = "false") boolean includeDescendants,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        Sort sort = keysetSort(sortBy, direction);
+        Window<Product> products = productService.scrollProductsByCategory(
+                categoryId, includeDescendants, productCursorCodec.decode(cursor, sort), sort, size);
+        Long total = includeTotal ? productService.countProductsByCategory(categoryId, includeDescendants) : null;
+        return ResponseEntity.ok(toCursorPage(products, total));
     }
 
     @PostMapping
     public ResponseEntity<ProductDTO> createProduct(@Valid @RequestBody ProductDTO productDTO) {
-        CreateProductCommand command = toCreateCommand(productDTO);
+        CreateProductCommand command = productDTOMapper.toCreateCommand(productDTO);
         Product product = productService.createProduct(command);
         return ResponseEntity.status(HttpStatus.CREATED).body(toDTO(product));
     }
@@ -105,10 +212,16 @@ public class ProductController {
     @PutMapping("/{id}")
     public ResponseEntity<ProductDTO> updateProduct(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ProductDTO productDTO) {
-        UpdateProductCommand command = toUpdateCommand(productDTO);
+        UpdateProductCommand command = productDTOMapper.toUpdateCommand(productDTO);
+        command.setExpectedVersion(EntityTags.expectedVersion(ifMatch, id));
         Product product = productService.updateProduct(id, command);
-        return ResponseEntity.ok(toDTO(product));
+        ProductDTO updated = toDTO(product);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updated.getId(), updated.getVersion(), updated.getCategoryVersion(),
+                        updated.getAvailableQuantity()))
+                .body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -123,123 +236,183 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
-    private ProductDTO toDTO(Product product) {
-        ProductDTO dto = ProductDTO.builder()
-                .id(product.getId())
-                .sku(product.getSku())
-                .name(product.getName())
-                .description(product.getDescription())
-                .price(product.getPrice())
-                .categoryId(product.getCategory() != null ? product.getCategory().getId() : null)
-                .categoryName(product.getCategory() != null ? product.getCategory().getName() : null)
-                .inventoryId(product.getInventoryId())
-                .isActive(product.getIsActive())
-                .isVisible(product.getIsVisible())
-                .availableQuantity(enrichWithInventory(product.getInventoryId()))
-                .build();
+    // The tag always describes the body that is returned. A cached product is tagged with its own version, so a hit
+    // costs no database query. On a miss the version is read first, so a matching If-None-Match is answered without
+    // loading the product. Availability and the category's name are part of the body, so the tag carries the
+    // quantity and the category version.
+    private ResponseEntity<ProductDTO> conditional(
+            Optional<ProductDTO> cached, Supplier<ProductVersion> version, String ifNoneMatch, Supplier<ProductDTO> loader) {
+        CacheControl cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+        ProductDTO product = cached.orElse(null);
+        Integer availableQuantity;
+        String etag;
+        if (product == null) {
+            ProductVersion current = version.get();
+            availableQuantity = enrichWithInventory(current.getInventoryId());
+            etag = EntityTags.of(current.getId(), current.getVersion(), current.getCategoryVersion(), availableQuantity);
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+            }
+            product = loader.get();
+            // A write may have committed between the two reads
+            if (!Objects.equals(product.getVersion(), current.getVersion())
+                    || !Objects.equals(product.getCategoryVersion(), current.getCategoryVersion())
+                    || !Objects.equals(product.getInventoryId(), current.getInventoryId())) {
+                availableQuantity = enrichWithInventory(product.getInventoryId());
+                etag = EntityTags.of(product.getId(), product.getVersion(), product.getCategoryVersion(),
+                        availableQuantity);
+            }
+        } else {
+            availableQuantity = enrichWithInventory(product.getInventoryId());
+            etag = EntityTags.of(product.getId(), product.getVersion(), product.getCategoryVersion(),
+                    availableQuantity);
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+            }
+        }
+        product.setAvailableQuantity(availableQuantity);
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(product);
+    }
+
+    private Page<ProductDTO> toDTOPage(Page<Product> products) {
+        recordPageSize("full", products.getNumberOfElements());
+        Map<Long, Integer> quantities = getAvailableQuantities(products.getContent());
+        return products.map(product -> withAvailability(productDTOMapper.toDTO(product), quantities));
+    }
 
-        if (product.getAttributes() != null) {
-            dto.setAttributes(product.getAttributes().stream()
-                    .map(this::toAttributeDTO)
-                    .collect(Collectors.toList()));
+    // Cached pages hold ids only. Products come from the product cache, then the database for any it lacks;
+    // availability is always looked up fresh.
+    private Page<ProductDTO> cachedDTOPage(Long categoryId, String query, Pageable pageable, Supplier<Page<Product>> loader) {
+        ProductListingCache.Lookup lookup = productListingCache.lookup(categoryId, query);
+        if (lookup.page() != null) {
+            List<ProductDTO> products = hydrate(lookup.page().productIds());
+            if (products != null) {
+                recordPageSize("full", products.size());
+                Map<Long, Integer> quantities = inventoryServiceProvider.getAvailableQuantities(products.stream()
+                        .map(ProductDTO::getInventoryId)
+                        .filter(Objects::nonNull)
+                        .toList());
+                products.forEach(product -> withAvailability(product, quantities));
+                return new PageImpl<>(products, pageable, lookup.page().total());
+            }
         }
+        Page<Product> products = loader.get();
+        productListingCache.put(lookup, products.getContent().stream().map(Product::getId).toList(),
+                products.getTotalElements());
+        // Warm the product cache before availability is added, as single-product reads do
+        Page<ProductDTO> page = products.map(productDTOMapper::toDTO);
+        productCache.putAll(page.getContent());
+        recordPageSize("full", page.getNumberOfElements());
+        Map<Long, Integer> quantities = getAvailableQuantities(products.getContent());
+        page.forEach(product -> withAvailability(product, quantities));
+        return page;
+    }
 
-        if (product.getImages() != null) {
-            dto.setImages(product.getImages().stream()
-                    .map(this::toImageDTO)
-                    .collect(Collectors.toList()));
+    // Null when a listed product no longer exists, so the caller rebuilds the page instead of serving it short
+    private List<ProductDTO> hydrate(List<Long> productIds) {
+        Map<Long, ProductDTO> products = new HashMap<>(productCache.getAll(productIds));
+        List<Long> missing = productIds.stream().filter(id -> !products.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            List<ProductDTO> loaded = productService.getProductsByIds(missing).stream()
+                    .map(productDTOMapper::toDTO)
+                    .toList();
+            productCache.putAll(loaded);
+            loaded.forEach(product -> products.put(product.getId(), product));
+        }
+        List<ProductDTO> page = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            ProductDTO product = products.get(productId);
+            if (product == null) {
+                return null;
+            }
+            page.add(product);
         }
+        return page;
+    }
 
-        return dto;
+    private static String pageKey(Pageable pageable) {
+        return pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort().stream()
+                .map(order -> order.getProperty() + "." + order.getDirection())
+                .collect(Collectors.joining(","));
     }
 
-    private ProductAttributeDTO toAttributeDTO(ProductAttribute attribute) {
-        return ProductAttributeDTO.builder()
-                .id(attribute.getId())
-                .name(attribute.getName())
-                .value(attribute.getValue())
-                .displayOrder(attribute.getDisplayOrder())
-                .build();
+    // Inventory is only called when availability was asked for
+    private Page<ProductSummaryDTO> toSummaryPage(Page<ProductSummary> summaries, Set<ProductField> fields) {
+        recordPageSize("summary", summaries.getNumberOfElements());
+        Map<Long, Integer> quantities = fields.contains(ProductField.AVAILABLE_QUANTITY)
+                ? inventoryServiceProvider.getAvailableQuantities(summaries.getContent().stream()
+                        .map(ProductSummary::inventoryId)
+                        .filter(Objects::nonNull)
+                        .toList())
+                : Map.of();
+        return summaries.map(summary -> ProductSummaryDTO.builder()
+                .id(summary.id())
+                .sku(fields.contains(ProductField.SKU) ? summary.sku() : null)
+                .name(fields.contains(ProductField.NAME) ? summary.name() : null)
+                .price(fields.contains(ProductField.PRICE) ? summary.price() : null)
+                .categoryId(fields.contains(ProductField.CATEGORY_ID) ? summary.categoryId() : null)
+                .categoryName(fields.contains(ProductField.CATEGORY_NAME) ? summary.categoryName() : null)
+                .primaryImageUrl(fields.contains(ProductField.PRIMARY_IMAGE_URL) ? summary.primaryImageUrl() : null)
+                .availableQuantity(summary.inventoryId() != null ? quantities.get(summary.inventoryId()) : null)
+                .build());
     }
 
-    private ProductImageDTO toImageDTO(ProductImage image) {
-        return ProductImageDTO.builder()
-                .id(image.getId())
-                .imageUrl(image.getImageUrl())
-                .altText(image.getAltText())
-                .isPrimary(image.getIsPrimary())
-                .displayOrder(image.getDisplayOrder())
+    private CursorPageDTO<ProductDTO> toCursorPage(Window<Product> products, Long total) {
+        recordPageSize("cursor", products.size());
+        Map<Long, Integer> quantities = getAvailableQuantities(products.getContent());
+        return CursorPageDTO.<ProductDTO>builder()
+                .content(products.getContent().stream()
+                        .map(product -> withAvailability(productDTOMapper.toDTO(product), quantities))
+                        .collect(Collectors.toList()))
+                .size(products.size())
+                .hasNext(products.hasNext())
+                .nextCursor(products.hasNext() && !products.isEmpty()
+                        ? productCursorCodec.encode(products.positionAt(products.size() - 1))
+                        : null)
+                .totalElements(total)
                 .build();
     }
 
-    private CreateProductCommand toCreateCommand(ProductDTO dto) {
-        CreateProductCommand.CreateProductCommandBuilder builder = CreateProductCommand.builder()
-                .sku(dto.getSku())
-                .name(dto.getName())
-                .description(dto.getDescription())
-                .price(dto.getPrice())
-                .categoryId(dto.getCategoryId())
-                .inventoryId(dto.getInventoryId())
-                .isActive(dto.getIsActive())
-                .isVisible(dto.getIsVisible());
-
-        if (dto.getAttributes() != null) {
-            builder.attributes(dto.getAttributes().stream()
-                    .map(attr -> ProductAttributeCommand.builder()
-                            .name(attr.getName())
-                            .value(attr.getValue())
-                            .displayOrder(attr.getDisplayOrder())
-                            .build())
-                    .collect(Collectors.toList()));
-        }
+    private Map<Long, Integer> getAvailableQuantities(List<Product> products) {
+        return inventoryServiceProvider.getAvailableQuantities(products.stream()
+                .map(Product::getInventoryId)
+                .filter(Objects::nonNull)
+                .toList());
+    }
 
-        if (dto.getImages() != null) {
-            builder.images(dto.getImages().stream()
-                    .map(img -> ProductImageCommand.builder()
-                            .imageUrl(img.getImageUrl())
-                            .altText(img.getAltText())
-                            .isPrimary(img.getIsPrimary())
-                            .displayOrder(img.getDisplayOrder())
-                            .build())
-                    .collect(Collectors.toList()));
-        }
+    private void recordPageSize(String view, int size) {
+        DistributionSummary.builder("catalog.products.page.size")
+                .description("Products returned per listing page")
+                .baseUnit("products")
+                .tag("view", view)
+                .register(meterRegistry)
+                .record(size);
+    }
 
-        return builder.build();
-    }
-
-    private UpdateProductCommand toUpdateCommand(ProductDTO dto) {
-        UpdateProductCommand.UpdateProductCommandBuilder builder = UpdateProductCommand.builder()
-                .sku(dto.getSku())
-                .name(dto.getName())
-                .description(dto.getDescription())
-                .price(dto.getPrice())
-                .categoryId(dto.getCategoryId())
-                .inventoryId(dto.getInventoryId())
-                .isActive(dto.getIsActive())
-                .isVisible(dto.getIsVisible());
-
-        if (dto.getAttributes() != null) {
-            builder.attributes(dto.getAttributes().stream()
-                    .map(attr -> ProductAttributeCommand.builder()
-                            .name(attr.getName())
-                            .value(attr.getValue())
-                            .displayOrder(attr.getDisplayOrder())
-                            .build())
-                    .collect(Collectors.toList()));
-        }
+    private Sort keysetSort(String sortBy, String direction) {
+        Sort.Direction dir = Sort.Direction.fromString(direction);
+        Sort sort = Sort.by(dir, sortBy);
+        return "id".equals(sortBy) ? sort : sort.and(Sort.by(dir, "id"));
+    }
 
-        if (dto.getImages() != null) {
-            builder.images(dto.getImages().stream()
-                    .map(img -> ProductImageCommand.builder()
-                            .imageUrl(img.getImageUrl())
-                            .altText(img.getAltText())
-                            .isPrimary(img.getIsPrimary())
-                            .displayOrder(img.getDisplayOrder())
-                            .build())
-                    .collect(Collectors.toList()));
-        }
+    private ProductDTO toDTO(Product product) {
+        return withAvailability(productDTOMapper.toDTO(product));
+    }
 
-        return builder.build();
+    private ProductDTO toCachedDTO(Product product) {
+        ProductDTO dto = productDTOMapper.toDTO(product);
+        productCache.put(dto);
+        return dto;
+    }
+
+    private ProductDTO withAvailability(ProductDTO dto) {
+        dto.setAvailableQuantity(enrichWithInventory(dto.getInventoryId()));
+        return dto;
+    }
+
+    private ProductDTO withAvailability(ProductDTO dto, Map<Long, Integer> quantities) {
+        dto.setAvailableQuantity(quantities.get(dto.getInventoryId()));
+        return dto;
     }
 
     private Integer enrichWithInventory(Long inventoryId) {
@@ -0,0 +1,97 @@
+package com.soulf.catalog.products.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.soulf.catalog.products.core.domain.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class ProductCursorCodec {
+
+    private static final String KEYS = "k";
+    private static final String OFFSET = "o";
+
+    private final ObjectMapper objectMapper;
+
+    public String encode(ScrollPosition position) {
+        ObjectNode token = objectMapper.createObjectNode();
+        if (position instanceof KeysetScrollPosition keyset) {
+            ObjectNode keys = token.putObject(KEYS);
+            keyset.getKeys().forEach((property, value) -> keys.put(property, value != null ? value.toString() : null));
+        } else if (position instanceof OffsetScrollPosition offset) {
+            token.put(OFFSET, offset.getOffset());
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(token));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    public ScrollPosition decode(String cursor, Sort sort) {
+        if (!StringUtils.hasText(cursor)) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            JsonNode token = objectMapper.readTree(Base64.getUrlDecoder().decode(cursor));
+            if (token.has(OFFSET)) {
+                return ScrollPosition.offset(token.get(OFFSET).asLong());
+            }
+            JsonNode keys = token.path(KEYS);
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (Sort.Order order : sort) {
+                JsonNode value = keys.get(order.getProperty());
+                if (value == null) {
+                    throw new IllegalArgumentException("Cursor does not match sort property: " + order.getProperty());
+                }
+                values.put(order.getProperty(), value.isNull() ? null : convert(order.getProperty(), value.asText()));
+            }
+            return ScrollPosition.forward(values);
+        } catch (IOException | NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private Object convert(String property, String value) {
+        Field field = ReflectionUtils.findField(Product.class, property);
+        if (field == null) {
+            throw new IllegalArgumentException("Unsupported sort property: " + property);
+        }
+        Class<?> type = field.getType();
+        if (type == Long.class) {
+            return Long.valueOf(value);
+        }
+        if (type == Integer.class) {
+            return Integer.valueOf(value);
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(value);
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        if (type == Boolean.class) {
+            return Boolean.valueOf(value);
+        }
+        return value;
+    }
+}
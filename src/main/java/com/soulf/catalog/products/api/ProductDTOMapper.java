@@ -0,0 +1,139 @@
+package com.soulf.catalog.products.api;
+
+import com.soulf.catalog.products.api.dto.ProductAttributeDTO;
+import com.soulf.catalog.products.api.dto.ProductDTO;
+import com.soulf.catalog.products.api.dto.ProductImageDTO;
+import com.soulf.catalog.products.core.commands.CreateProductCommand;
+import com.soulf.catalog.products.core.commands.ProductAttributeCommand;
+import com.soulf.catalog.products.core.commands.ProductImageCommand;
+import com.soulf.catalog.products.core.commands.UpdateProductCommand;
+import com.soulf.catalog.products.core.domain.Product;
+import com.soulf.catalog.products.core.domain.ProductAttribute;
+import com.soulf.catalog.products.core.domain.ProductImage;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Component
+public class ProductDTOMapper {
+
+    public ProductDTO toDTO(Product product) {
+        ProductDTO dto = ProductDTO.builder()
+                .id(product.getId())
+                .version(product.getVersion())
+                .sku(product.getSku())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .categoryId(product.getCategory() != null ? product.getCategory().getId() : null)
+                .categoryName(product.getCategory() != null ? product.getCategory().getName() : null)
+                .categoryVersion(product.getCategory() != null ? product.getCategory().getVersion() : null)
+                .inventoryId(product.getInventoryId())
+                .isActive(product.getIsActive())
+                .isVisible(product.getIsVisible())
+                .build();
+
+        if (product.getAttributes() != null) {
+            dto.setAttributes(product.getAttributes().stream()
+                    .map(this::toAttributeDTO)
+                    .collect(Collectors.toList()));
+        }
+
+        if (product.getImages() != null) {
+            dto.setImages(product.getImages().stream()
+                    .map(this::toImageDTO)
+                    .collect(Collectors.toList()));
+        }
+
+        return dto;
+    }
+
+    public ProductAttributeDTO toAttributeDTO(ProductAttribute attribute) {
+        return ProductAttributeDTO.builder()
+                .id(attribute.getId())
+                .name(attribute.getName())
+                .value(attribute.getValue())
+                .displayOrder(attribute.getDisplayOrder())
+                .build();
+    }
+
+    public ProductImageDTO toImageDTO(ProductImage image) {
+        return ProductImageDTO.builder()
+                .id(image.getId())
+                .imageUrl(image.getImageUrl())
+                .altText(image.getAltText())
+                .isPrimary(image.getIsPrimary())
+                .displayOrder(image.getDisplayOrder())
+                .build();
+    }
+
+    public CreateProductCommand toCreateCommand(ProductDTO dto) {
+        CreateProductCommand.CreateProductCommandBuilder builder = CreateProductCommand.builder()
+                .sku(dto.getSku())
+                .name(dto.getName())
+                .description(dto.getDescription())
+                .price(dto.getPrice())
+                .categoryId(dto.getCategoryId())
+                .inventoryId(dto.getInventoryId())
+                .isActive(dto.getIsActive())
+                .isVisible(dto.getIsVisible());
+
+        if (dto.getAttributes() != null) {
+            builder.attributes(dto.getAttributes().stream()
+                    .map(attr -> ProductAttributeCommand.builder()
+                            .name(attr.getName())
+                            .value(attr.getValue())
+                            .displayOrder(attr.getDisplayOrder())
+                            .build())
+                    .collect(Collectors.toList()));
+        }
+
+        if (dto.getImages() != null) {
+            builder.images(dto.getImages().stream()
+                    .map(img -> ProductImageCommand.builder()
+                            .imageUrl(img.getImageUrl())
+                            .altText(img.getAltText())
+                            .isPrimary(img.getIsPrimary())
+                            .displayOrder(img.getDisplayOrder())
+                            .build())
+                    .collect(Collectors.toList()));
+        }
+
+        return builder.build();
+    }
+
+    public UpdateProductCommand toUpdateCommand(ProductDTO dto) {
+        UpdateProductCommand.UpdateProductCommandBuilder builder = UpdateProductCommand.builder()
+                .sku(dto.getSku())
+                .name(dto.getName())
+                .description(dto.getDescription())
+                .price(dto.getPrice())
+                .categoryId(dto.getCategoryId())
+                .inventoryId(dto.getInventoryId())
+                .isActive(dto.getIsActive())
+                .isVisible(dto.getIsVisible());
+
+        if (dto.getAttributes() != null) {
+            builder.attributes(dto.getAttributes().stream()
+                    .map(attr -> ProductAttributeCommand.builder()
+                            .name(attr.getName())
+                            .value(attr.getValue())
+                            .displayOrder(attr.getDisplayOrder())
+                            .build())
+                    .collect(Collectors.toList()));
+        }
+
+        if (dto.getImages() != null) {
+            builder.images(dto.getImages().stream()
+                    .map(img -> ProductImageCommand.builder()
+                            .imageUrl(img.getImageUrl())
+                            .altText(img.getAltText())
+                            .isPrimary(img.getIsPrimary())
+                            .displayOrder(img.getDisplayOrder())
+                            .build())
+                    .collect(Collectors.toList()));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.soulf.catalog.products.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soulf.catalog.products.api.dto.ProductDTO;
+import com.soulf.catalog.products.api.dto.ProductImageDTO;
+import com.soulf.catalog.products.core.ProductExportService;
+import com.soulf.catalog.products.core.domain.Product;
+import com.soulf.catalog.products.infrastructure.provider.InventoryServiceProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/api/products/export")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductExportController {
+
+    private static final String CSV_HEADER = "id,sku,name,description,price,categoryId,categoryName,inventoryId,"
+            + "availableQuantity,isActive,isVisible,primaryImageUrl\n";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private final ProductExportService productExportService;
+    private final ProductDTOMapper productDTOMapper;
+    private final InventoryServiceProvider inventoryServiceProvider;
+    private final ObjectMapper objectMapper;
+
+    @Value("${product.export.batch-size:100}")
+    private int batchSize;
+
+    @Value("${product.export.watermark-margin:5m}")
+    private Duration watermarkMargin;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince) {
+
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+
+        // updatedAt is stamped when a write runs, not when it commits, so a transaction still open at the start time
+        // can commit later with an earlier updatedAt. The watermark reaches back past the longest such transaction
+        // (and clock skew between nodes); rows exported twice are harmless to an incremental consumer.
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime watermark = startedAt.minus(watermarkMargin);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            if (csv) {
+                out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+            }
+            productExportService.exportProducts(updatedSince, batchSize, batch -> writeBatch(batch, csv, out));
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + (csv ? "csv" : "ndjson") + "\"")
+                .header("X-Export-Started-At", startedAt.toString())
+                .header("X-Export-Watermark", watermark.toString())
+                .body(body);
+    }
+
+    private void writeBatch(List<Product> products, boolean csv, OutputStream out) {
+        Map<Long, Integer> quantities = inventoryServiceProvider.getAvailableQuantities(products.stream()
+                .map(Product::getInventoryId)
+                .filter(Objects::nonNull)
+                .toList());
+        try {
+            for (Product product : products) {
+                ProductDTO dto = productDTOMapper.toDTO(product);
+                dto.setAvailableQuantity(quantities.get(dto.getInventoryId()));
+                if (csv) {
+                    out.write(toCsvRow(dto).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    out.write(objectMapper.writeValueAsBytes(dto));
+                    out.write('\n');
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toCsvRow(ProductDTO dto) {
+        String primaryImageUrl = dto.getImages().stream()
+                .filter(image -> Boolean.TRUE.equals(image.getIsPrimary()))
+                .map(ProductImageDTO::getImageUrl)
+                .findFirst()
+                .orElse(null);
+        return Stream.of(dto.getId(), dto.getSku(), dto.getName(), dto.getDescription(), dto.getPrice(),
+                        dto.getCategoryId(), dto.getCategoryName(), dto.getInventoryId(), dto.getAvailableQuantity(),
+                        dto.getIsActive(), dto.getIsVisible(), primaryImageUrl)
+                .map(this::toCsvField)
+                .collect(Collectors.joining(",", "", "\n"));
+    }
+
+    private String toCsvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
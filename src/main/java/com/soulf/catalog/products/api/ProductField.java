@@ -0,0 +1,55 @@
+package com.soulf.catalog.products.api;
+
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public enum ProductField {
+    ID("id"),
+    SKU("sku"),
+    NAME("name"),
+    PRICE("price"),
+    CATEGORY_ID("categoryId"),
+    CATEGORY_NAME("categoryName"),
+    PRIMARY_IMAGE_URL("primaryImageUrl"),
+    AVAILABLE_QUANTITY("availableQuantity");
+
+    private static final Set<ProductField> SUMMARY = EnumSet.of(ID, NAME, PRICE, PRIMARY_IMAGE_URL);
+
+    private final String fieldName;
+
+    ProductField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    // Null means the full product view; "view=summary" without a field list selects the grid fields
+    public static Set<ProductField> parse(String view, String fields) {
+        if (StringUtils.hasText(fields)) {
+            Set<ProductField> selected = EnumSet.of(ID);
+            for (String name : fields.split(",")) {
+                selected.add(byName(name.trim()));
+            }
+            return selected;
+        }
+        if (view == null || "full".equalsIgnoreCase(view)) {
+            return null;
+        }
+        if ("summary".equalsIgnoreCase(view)) {
+            return EnumSet.copyOf(SUMMARY);
+        }
+        throw new IllegalArgumentException("Unsupported product view: " + view);
+    }
+
+    private static ProductField byName(String name) {
+        return Arrays.stream(values())
+                .filter(field -> field.fieldName.equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported product field: " + name
+                        + ". Supported fields: " + Arrays.stream(values())
+                        .map(field -> field.fieldName)
+                        .collect(Collectors.joining(", "))));
+    }
+}
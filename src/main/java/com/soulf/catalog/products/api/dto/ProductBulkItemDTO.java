@@ -0,0 +1,21 @@
+package com.soulf.catalog.products.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductBulkItemDTO {
+
+    private Integer index;
+    private String sku;
+    private String status;
+    private Long id;
+    private String error;
+}
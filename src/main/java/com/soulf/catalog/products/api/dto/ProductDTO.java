@@ -20,6 +20,8 @@ public class ProductDTO {
 
     private Long id;
 
+    private Long version;
+
     @NotBlank(message = "SKU is required")
     private String sku;
 
@@ -34,6 +36,7 @@ public class ProductDTO {
 
     private Long categoryId;
     private String categoryName;
+    private Long categoryVersion;
 
     private Long inventoryId;
     private Integer availableQuantity;
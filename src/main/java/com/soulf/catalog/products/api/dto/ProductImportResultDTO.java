@@ -0,0 +1,23 @@
+package com.soulf.catalog.products.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResultDTO {
+
+    private int total;
+    private int created;
+    private int failed;
+
+    @Builder.Default
+    private List<ProductBulkItemDTO> items = new ArrayList<>();
+}
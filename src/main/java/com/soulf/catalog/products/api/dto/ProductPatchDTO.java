@@ -0,0 +1,22 @@
+package com.soulf.catalog.products.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPatchDTO {
+
+    private Long id;
+    private String sku;
+    private BigDecimal price;
+    private Boolean isActive;
+    private Boolean isVisible;
+    private Long version;
+}
@@ -0,0 +1,26 @@
+package com.soulf.catalog.products.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductSummaryDTO {
+
+    private Long id;
+    private String sku;
+    private String name;
+    private BigDecimal price;
+    private Long categoryId;
+    private String categoryName;
+    private String primaryImageUrl;
+    private Integer availableQuantity;
+}
@@ -0,0 +1,57 @@
+package com.soulf.catalog.products.core;
+
+import com.soulf.catalog.products.core.domain.Product;
+import com.soulf.catalog.products.core.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductExportService {
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportProducts(LocalDateTime updatedSince, int batchSize, Consumer<List<Product>> batchConsumer) {
+        log.info("Exporting products updated since: {}", updatedSince);
+        long exported = 0;
+        try (Stream<Product> products = updatedSince != null
+                ? productRepository.streamUpdatedSince(updatedSince)
+                : productRepository.streamAll()) {
+            List<Product> batch = new ArrayList<>(batchSize);
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    exported += consume(batch, batchConsumer);
+                }
+            }
+            if (!batch.isEmpty()) {
+                exported += consume(batch, batchConsumer);
+            }
+        }
+        log.info("Exported {} products", exported);
+        return exported;
+    }
+
+    // Detaching each batch once it is written keeps the persistence context, and so memory, bounded
+    private int consume(List<Product> batch, Consumer<List<Product>> batchConsumer) {
+        int size = batch.size();
+        batchConsumer.accept(batch);
+        batch.clear();
+        entityManager.clear();
+        return size;
+    }
+}
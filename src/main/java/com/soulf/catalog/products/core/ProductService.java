@@ -1,35 +1,95 @@
 package com.soulf.catalog.products.core;
 
+import com.soulf.catalog.categories.core.CategoryService;
 import com.soulf.catalog.categories.core.domain.Category;
 import com.soulf.catalog.categories.core.repository.CategoryRepository;
+import com.soulf.catalog.categories.core.tree.CategoryTree;
 import com.soulf.catalog.products.core.commands.CreateProductCommand;
+import com.soulf.catalog.products.core.commands.PatchProductCommand;
 import com.soulf.catalog.products.core.commands.ProductAttributeCommand;
 import com.soulf.catalog.products.core.commands.ProductImageCommand;
 import com.soulf.catalog.products.core.commands.UpdateProductCommand;
 import com.soulf.catalog.products.core.domain.Product;
 import com.soulf.catalog.products.core.domain.ProductAttribute;
 import com.soulf.catalog.products.core.domain.ProductImage;
+import com.soulf.catalog.products.core.events.ProductChangeType;
+import com.soulf.catalog.products.core.events.ProductChangedEvent;
+import com.soulf.catalog.products.core.repository.ProductBulkUpdateRepository;
+import com.soulf.catalog.products.core.repository.ProductKey;
 import com.soulf.catalog.products.core.repository.ProductRepository;
+import com.soulf.catalog.products.core.repository.ProductSpecifications;
+import com.soulf.catalog.products.core.repository.ProductSummary;
+import com.soulf.catalog.products.core.repository.ProductVersion;
+import com.soulf.catalog.products.core.results.ProductImportResult;
+import com.soulf.catalog.products.core.results.ProductPatchResult;
 import com.soulf.catalog.products.infrastructure.provider.InventoryServiceProvider;
+import com.soulf.catalog.products.infrastructure.search.ProductSearchIndex;
+import com.soulf.catalog.shared.exception.PreconditionFailedException;
 import com.soulf.catalog.shared.exception.ResourceNotFoundException;
+import com.soulf.catalog.shared.exception.ServiceUnavailableException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.OffsetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "catalog.service", description = "Core service calls by class and method")
 public class ProductService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
     private final InventoryServiceProvider inventoryServiceProvider;
+    private final ProductSearchIndex productSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductBulkUpdateRepository productBulkUpdateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${product.import.batch-size:500}")
+    private int importBatchSize;
+
+    @Value("${product.patch.batch-size:1000}")
+    private int patchBatchSize;
 
     @Transactional(readOnly = true)
     public Page<Product> getAllProducts(Pageable pageable) {
@@ -44,6 +104,12 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
     }
 
+    // Ids that no longer exist are skipped
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByIds(List<Long> ids) {
+        return findAllInOrder(ids);
+    }
+
     @Transactional(readOnly = true)
     public Product getProductBySku(String sku) {
         log.info("Fetching product with SKU: {}", sku);
@@ -51,26 +117,186 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with SKU: " + sku));
     }
 
+    @Transactional(readOnly = true)
+    public ProductVersion getProductVersion(Long id) {
+        return productRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public ProductVersion getProductVersionBySku(String sku) {
+        return productRepository.findVersionBySku(sku)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with SKU: " + sku));
+    }
+
     @Transactional(readOnly = true)
     public Page<Product> searchProducts(
             String name,
             Long categoryId,
+            boolean includeDescendants,
             java.math.BigDecimal minPrice,
             java.math.BigDecimal maxPrice,
             Boolean isActive,
             Boolean isVisible,
             Pageable pageable) {
-        log.info("Searching products with filters: name={}, categoryId={}, minPrice={}, maxPrice={}",
-                name, categoryId, minPrice, maxPrice);
+        log.info("Searching products with filters: name={}, categoryId={}, includeDescendants={}, minPrice={}, maxPrice={}",
+                name, categoryId, includeDescendants, minPrice, maxPrice);
+        if (searchesIndex(name)) {
+            Page<Long> productIds = productSearchIndex.search(name, indexCategoryIds(categoryId, includeDescendants),
+                    minPrice, maxPrice, isActive, isVisible, pageable);
+            return new PageImpl<>(findAllInOrder(productIds.getContent()), pageable, productIds.getTotalElements());
+        }
+        String categoryPath = subtreePath(categoryId, includeDescendants);
+        if (categoryPath != null) {
+            return productRepository.findAll(ProductSpecifications.search(
+                    name, categoryId, categoryPath, minPrice, maxPrice, isActive, isVisible), pageable);
+        }
         return productRepository.searchProducts(name, categoryId, minPrice, maxPrice, isActive, isVisible, pageable);
     }
 
     @Transactional(readOnly = true)
-    public Page<Product> getProductsByCategory(Long categoryId, Pageable pageable) {
-        log.info("Fetching products for category id: {}", categoryId);
+    public Page<Product> getProductsByCategory(Long categoryId, boolean includeDescendants, Pageable pageable) {
+        log.info("Fetching products for category id: {}, includeDescendants: {}", categoryId, includeDescendants);
+        String categoryPath = subtreePath(categoryId, includeDescendants);
+        if (categoryPath != null) {
+            return productRepository.findByCategoryPathStartingWithAndIsActiveTrueAndIsVisibleTrue(categoryPath, pageable);
+        }
         return productRepository.findByCategoryIdAndIsActiveTrueAndIsVisibleTrue(categoryId, pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Page<ProductSummary> getProductSummaries(Pageable pageable) {
+        log.info("Fetching product summaries with pagination");
+        return productRepository.findSummaries(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductSummary> searchProductSummaries(
+            String name,
+            Long categoryId,
+            boolean includeDescendants,
+            java.math.BigDecimal minPrice,
+            java.math.BigDecimal maxPrice,
+            Boolean isActive,
+            Boolean isVisible,
+            Pageable pageable) {
+        log.info("Searching product summaries with filters: name={}, categoryId={}, includeDescendants={}, minPrice={}, maxPrice={}",
+                name, categoryId, includeDescendants, minPrice, maxPrice);
+        if (searchesIndex(name)) {
+            Page<Long> productIds = productSearchIndex.search(name, indexCategoryIds(categoryId, includeDescendants),
+                    minPrice, maxPrice, isActive, isVisible, pageable);
+            Map<Long, ProductSummary> summaries = productRepository.findSummariesByIdIn(productIds.getContent()).stream()
+                    .collect(Collectors.toMap(ProductSummary::id, Function.identity()));
+            List<ProductSummary> ordered = productIds.getContent().stream()
+                    .map(summaries::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            return new PageImpl<>(ordered, pageable, productIds.getTotalElements());
+        }
+        String categoryPath = subtreePath(categoryId, includeDescendants);
+        return productRepository.searchSummaries(name, categoryPath != null ? null : categoryId, categoryPath,
+                minPrice, maxPrice, isActive, isVisible, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductSummary> getProductSummariesByCategory(Long categoryId, boolean includeDescendants, Pageable pageable) {
+        log.info("Fetching product summaries for category id: {}, includeDescendants: {}", categoryId, includeDescendants);
+        String categoryPath = subtreePath(categoryId, includeDescendants);
+        if (categoryPath != null) {
+            return productRepository.findSummariesByCategoryPath(categoryPath, pageable);
+        }
+        return productRepository.findSummariesByCategoryId(categoryId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<Product> scrollAllProducts(ScrollPosition position, Sort sort, int size) {
+        log.info("Scrolling all products");
+        return productRepository.findByIsActiveTrueAndIsVisibleTrue(keyset(position), sort, Limit.of(size));
+    }
+
+    @Transactional(readOnly = true)
+    public Window<Product> scrollSearchProducts(
+            String name,
+            Long categoryId,
+            boolean includeDescendants,
+            java.math.BigDecimal minPrice,
+            java.math.BigDecimal maxPrice,
+            Boolean isActive,
+            Boolean isVisible,
+            ScrollPosition position,
+            Sort sort,
+            int size) {
+        log.info("Scrolling products with filters: name={}, categoryId={}, includeDescendants={}, minPrice={}, maxPrice={}",
+                name, categoryId, includeDescendants, minPrice, maxPrice);
+        // A scroll stays on the path it started on: keyset cursors come from SQL and continue there. Offset cursors
+        // come from the index and only mean something against its ranking, so a node whose index is not ready
+        // answers 503 rather than reading the offset against a SQL ordering.
+        boolean fromIndex = position instanceof OffsetScrollPosition || position.isInitial();
+        if (position instanceof OffsetScrollPosition && !(StringUtils.hasText(name) && productSearchIndex.isEnabled())) {
+            throw new IllegalArgumentException("Cursor does not belong to this search; restart the scroll without a cursor");
+        }
+        if (fromIndex && searchesIndex(name)) {
+            long offset = position instanceof OffsetScrollPosition offsetPosition ? offsetPosition.getOffset() : 0;
+            Window<Long> productIds = productSearchIndex.scroll(name, indexCategoryIds(categoryId, includeDescendants),
+                    minPrice, maxPrice, isActive, isVisible, offset, size);
+            List<Product> products = findAllInOrder(productIds.getContent());
+            return Window.from(products,
+                    index -> productIds.positionAt(productIds.getContent().indexOf(products.get(index).getId())),
+                    productIds.hasNext());
+        }
+        Specification<Product> specification = ProductSpecifications.search(name, categoryId,
+                subtreePath(categoryId, includeDescendants), minPrice, maxPrice, isActive, isVisible);
+        return productRepository.findBy(specification, query -> query.sortBy(sort).limit(size).scroll(keyset(position)));
+    }
+
+    @Transactional(readOnly = true)
+    public Window<Product> scrollProductsByCategory(
+            Long categoryId,
+            boolean includeDescendants,
+            ScrollPosition position,
+            Sort sort,
+            int size) {
+        log.info("Scrolling products for category id: {}, includeDescendants: {}", categoryId, includeDescendants);
+        String categoryPath = subtreePath(categoryId, includeDescendants);
+        if (categoryPath != null) {
+            return productRepository.findByCategoryPathStartingWithAndIsActiveTrueAndIsVisibleTrue(
+                    categoryPath, keyset(position), sort, Limit.of(size));
+        }
+        return productRepository.findByCategoryIdAndIsActiveTrueAndIsVisibleTrue(
+                categoryId, keyset(position), sort, Limit.of(size));
+    }
+
+    @Transactional(readOnly = true)
+    public long countAllProducts() {
+        return productRepository.countByIsActiveTrueAndIsVisibleTrue();
+    }
+
+    @Transactional(readOnly = true)
+    public long countSearchProducts(
+            String name,
+            Long categoryId,
+            boolean includeDescendants,
+            java.math.BigDecimal minPrice,
+            java.math.BigDecimal maxPrice,
+            Boolean isActive,
+            Boolean isVisible) {
+        if (searchesIndex(name)) {
+            return productSearchIndex.search(name, indexCategoryIds(categoryId, includeDescendants),
+                    minPrice, maxPrice, isActive, isVisible, PageRequest.of(0, 1)).getTotalElements();
+        }
+        return productRepository.count(ProductSpecifications.search(name, categoryId,
+                subtreePath(categoryId, includeDescendants), minPrice, maxPrice, isActive, isVisible));
+    }
+
+    @Transactional(readOnly = true)
+    public long countProductsByCategory(Long categoryId, boolean includeDescendants) {
+        String categoryPath = subtreePath(categoryId, includeDescendants);
+        if (categoryPath != null) {
+            return productRepository.countByCategoryPathStartingWithAndIsActiveTrueAndIsVisibleTrue(categoryPath);
+        }
+        return productRepository.countByCategoryIdAndIsActiveTrueAndIsVisibleTrue(categoryId);
+    }
+
     @Transactional
     public Product createProduct(CreateProductCommand command) {
         log.info("Creating new product with SKU: {}", command.getSku());
@@ -79,51 +305,62 @@ public class ProductService {
             throw new IllegalArgumentException("Product with SKU " + command.getSku() + " already exists");
         }
 
-        Product product = Product.builder()
-                .sku(command.getSku())
-                .name(command.getName())
-                .description(command.getDescription())
-                .price(command.getPrice())
-                .inventoryId(command.getInventoryId())
-                .isActive(command.getIsActive() != null ? command.getIsActive() : true)
-                .isVisible(command.getIsVisible() != null ? command.getIsVisible() : true)
-                .build();
-
+        Category category = null;
         if (command.getCategoryId() != null) {
-            Category category = categoryRepository.findById(command.getCategoryId())
+            category = categoryRepository.findById(command.getCategoryId())
                     .orElseThrow(() -> new ResourceNotFoundException(
                             "Category not found with id: " + command.getCategoryId()));
-            product.setCategory(category);
         }
 
-        if (command.getAttributes() != null) {
-            List<ProductAttribute> attributes = command.getAttributes().stream()
-                    .map(attrCmd -> ProductAttribute.builder()
-                            .product(product)
-                            .name(attrCmd.getName())
-                            .value(attrCmd.getValue())
-                            .displayOrder(attrCmd.getDisplayOrder())
-                            .build())
-                    .collect(Collectors.toList());
-            product.setAttributes(attributes);
-        }
+        Product savedProduct = productRepository.save(buildProduct(command, category));
+        eventPublisher.publishEvent(ProductChangedEvent.of(ProductChangeType.CREATED, savedProduct.getId(),
+                savedProduct.getVersion(), listingCategoryIds(Stream.of(category)), savedProduct.getSku()));
+        log.info("Product created successfully with id: {}", savedProduct.getId());
+        return savedProduct;
+    }
 
-        if (command.getImages() != null) {
-            List<ProductImage> images = command.getImages().stream()
-                    .map(imgCmd -> ProductImage.builder()
-                            .product(product)
-                            .imageUrl(imgCmd.getImageUrl())
-                            .altText(imgCmd.getAltText())
-                            .isPrimary(imgCmd.getIsPrimary())
-                            .displayOrder(imgCmd.getDisplayOrder())
-                            .build())
-                    .collect(Collectors.toList());
-            product.setImages(images);
+    // Each chunk commits in its own transaction, so a failure only rolls back the chunk it happened in
+    public List<ProductImportResult> importProducts(Iterator<CreateProductCommand> commands) {
+        log.info("Importing products in batches of {}", importBatchSize);
+        List<ProductImportResult> results = new ArrayList<>();
+        List<CreateProductCommand> chunk = new ArrayList<>(importBatchSize);
+        while (commands.hasNext()) {
+            chunk.add(commands.next());
+            if (chunk.size() == importBatchSize) {
+                results.addAll(importChunk(chunk, results.size()));
+                chunk.clear();
+            }
         }
+        if (!chunk.isEmpty()) {
+            results.addAll(importChunk(chunk, results.size()));
+        }
+        log.info("Imported {} of {} products", results.stream().filter(ProductImportResult::isCreated).count(),
+                results.size());
+        return results;
+    }
 
-        Product savedProduct = productRepository.save(product);
-        log.info("Product created successfully with id: {}", savedProduct.getId());
-        return savedProduct;
+    // Only price and the active/visible flags change, so each chunk is two batched UPDATEs and one change event.
+    // A chunk that fails rolls back alone and its items are reported failed; earlier chunks stay committed.
+    public List<ProductPatchResult> patchProducts(List<PatchProductCommand> commands) {
+        log.info("Patching {} products in batches of {}", commands.size(), patchBatchSize);
+        List<ProductPatchResult> results = new ArrayList<>(commands.size());
+        for (int from = 0; from < commands.size(); from += patchBatchSize) {
+            int firstIndex = from;
+            List<PatchProductCommand> chunk = commands.subList(from, Math.min(from + patchBatchSize, commands.size()));
+            try {
+                results.addAll(transactionTemplate.execute(status -> patchChunk(chunk, firstIndex)));
+            } catch (RuntimeException e) {
+                log.warn("Patch batch starting at item {} failed. Error: {}", firstIndex, e.getMessage());
+                for (int i = 0; i < chunk.size(); i++) {
+                    PatchProductCommand command = chunk.get(i);
+                    results.add(ProductPatchResult.failed(firstIndex + i, command.getId(), command.getSku(),
+                            e.getMessage()));
+                }
+            }
+        }
+        log.info("Patched {} of {} products", results.stream().filter(ProductPatchResult::isUpdated).count(),
+                results.size());
+        return results;
     }
 
     @Transactional
@@ -132,61 +369,68 @@ public class ProductService {
 
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        if (command.getExpectedVersion() != null && !command.getExpectedVersion().equals(product.getVersion())) {
+            throw new PreconditionFailedException("Product " + id + " is at version " + product.getVersion()
+                    + ", not " + command.getExpectedVersion());
+        }
 
         if (!product.getSku().equals(command.getSku()) &&
                 productRepository.findBySku(command.getSku()).isPresent()) {
             throw new IllegalArgumentException("Product with SKU " + command.getSku() + " already exists");
         }
 
-        product.setSku(command.getSku());
-        product.setName(command.getName());
-        product.setDescription(command.getDescription());
-        product.setPrice(command.getPrice());
-        product.setInventoryId(command.getInventoryId());
+        String previousSku = product.getSku();
+        Category previousCategory = product.getCategory();
+        boolean changed = setIfChanged(product.getSku(), command.getSku(), product::setSku);
+        changed |= setIfChanged(product.getName(), command.getName(), product::setName);
+        changed |= setIfChanged(product.getDescription(), command.getDescription(), product::setDescription);
+        if (product.getPrice() == null || command.getPrice() == null
+                ? product.getPrice() != command.getPrice()
+                : product.getPrice().compareTo(command.getPrice()) != 0) {
+            product.setPrice(command.getPrice());
+            changed = true;
+        }
+        changed |= setIfChanged(product.getInventoryId(), command.getInventoryId(), product::setInventoryId);
         if (command.getIsActive() != null) {
-            product.setIsActive(command.getIsActive());
+            changed |= setIfChanged(product.getIsActive(), command.getIsActive(), product::setIsActive);
         }
         if (command.getIsVisible() != null) {
-            product.setIsVisible(command.getIsVisible());
+            changed |= setIfChanged(product.getIsVisible(), command.getIsVisible(), product::setIsVisible);
         }
 
-        if (command.getCategoryId() != null) {
-            Category category = categoryRepository.findById(command.getCategoryId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Category not found with id: " + command.getCategoryId()));
-            product.setCategory(category);
-        } else if (command.getCategoryId() == null && product.getCategory() != null) {
-            product.setCategory(null);
+        Long currentCategoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        if (!Objects.equals(currentCategoryId, command.getCategoryId())) {
+            if (command.getCategoryId() != null) {
+                Category category = categoryRepository.findById(command.getCategoryId())
+                        .orElseThrow(() -> new ResourceNotFoundException(
+                                "Category not found with id: " + command.getCategoryId()));
+                product.setCategory(category);
+            } else {
+                product.setCategory(null);
+            }
+            changed = true;
         }
 
         if (command.getAttributes() != null) {
-            product.getAttributes().clear();
-            command.getAttributes().forEach(attrCmd -> {
-                ProductAttribute attribute = ProductAttribute.builder()
-                        .product(product)
-                        .name(attrCmd.getName())
-                        .value(attrCmd.getValue())
-                        .displayOrder(attrCmd.getDisplayOrder())
-                        .build();
-                product.getAttributes().add(attribute);
-            });
+            changed |= reconcileAttributes(product, command.getAttributes());
         }
 
         if (command.getImages() != null) {
-            product.getImages().clear();
-            command.getImages().forEach(imgCmd -> {
-                ProductImage image = ProductImage.builder()
-                        .product(product)
-                        .imageUrl(imgCmd.getImageUrl())
-                        .altText(imgCmd.getAltText())
-                        .isPrimary(imgCmd.getIsPrimary())
-                        .displayOrder(imgCmd.getDisplayOrder())
-                        .build();
-                product.getImages().add(image);
-            });
+            changed |= reconcileImages(product, command.getImages());
+        }
+
+        if (!changed) {
+            log.info("Product with id: {} is unchanged, skipping update", id);
+            return product;
         }
 
-        Product updatedProduct = productRepository.save(product);
+        // Attribute and image changes alone do not dirty the product row, so touch it to bump its version;
+        // flushing makes the new version visible to the caller
+        product.setUpdatedAt(LocalDateTime.now());
+        Product updatedProduct = productRepository.saveAndFlush(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(ProductChangeType.UPDATED, updatedProduct.getId(),
+                updatedProduct.getVersion(), listingCategoryIds(Stream.of(previousCategory, updatedProduct.getCategory())),
+                previousSku, updatedProduct.getSku()));
         log.info("Product updated successfully with id: {}", updatedProduct.getId());
         return updatedProduct;
     }
@@ -196,7 +440,10 @@ public class ProductService {
         log.info("Deleting product with id: {}", id);
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        Set<Long> categoryIds = listingCategoryIds(Stream.of(product.getCategory()));
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(ProductChangeType.DELETED, id, product.getVersion() + 1,
+                categoryIds, product.getSku()));
         log.info("Product deleted successfully with id: {}", id);
     }
 
@@ -206,8 +453,353 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
         product.setIsActive(false);
-        productRepository.save(product);
+        productRepository.saveAndFlush(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(ProductChangeType.DEACTIVATED, id, product.getVersion(),
+                listingCategoryIds(Stream.of(product.getCategory())), product.getSku()));
         log.info("Product deactivated successfully with id: {}", id);
     }
-}
 
+    private List<ProductImportResult> importChunk(List<CreateProductCommand> chunk, int firstIndex) {
+        try {
+            return transactionTemplate.execute(status -> insertChunk(chunk, firstIndex));
+        } catch (RuntimeException e) {
+            // Something the pre-checks cannot see (e.g. a column length) failed the flush; isolate it row by row
+            log.warn("Import batch starting at item {} failed, retrying items individually. Error: {}",
+                    firstIndex, e.getMessage());
+            List<ProductImportResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                CreateProductCommand command = chunk.get(i);
+                int index = firstIndex + i;
+                try {
+                    results.addAll(transactionTemplate.execute(status -> insertChunk(List.of(command), index)));
+                } catch (RuntimeException itemError) {
+                    results.add(ProductImportResult.failed(index, command.getSku(), itemError.getMessage()));
+                }
+            }
+            return results;
+        }
+    }
+
+    private List<ProductImportResult> insertChunk(List<CreateProductCommand> chunk, int firstIndex) {
+        Set<String> skus = chunk.stream()
+                .map(CreateProductCommand::getSku)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toSet());
+        Set<String> existingSkus = skus.isEmpty() ? Set.of() : productRepository.findExistingSkus(skus);
+        Map<Long, Category> categories = categoryRepository.findAllById(chunk.stream()
+                        .map(CreateProductCommand::getCategoryId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        ProductImportResult[] results = new ProductImportResult[chunk.size()];
+        Map<Integer, Product> products = new LinkedHashMap<>();
+        Set<String> chunkSkus = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            CreateProductCommand command = chunk.get(i);
+            String error = validateImport(command, existingSkus, chunkSkus, categories);
+            if (error != null) {
+                results[i] = ProductImportResult.failed(firstIndex + i, command.getSku(), error);
+            } else {
+                products.put(i, buildProduct(command, categories.get(command.getCategoryId())));
+            }
+        }
+
+        if (!products.isEmpty()) {
+            productRepository.saveAll(products.values());
+            entityManager.flush();
+            products.forEach((i, product) ->
+                    results[i] = ProductImportResult.created(firstIndex + i, product.getSku(), product.getId()));
+            eventPublisher.publishEvent(new ProductChangedEvent(
+                    ProductChangeType.CREATED,
+                    products.values().stream().map(Product::getId).collect(Collectors.toUnmodifiableSet()),
+                    products.values().stream().map(Product::getSku).collect(Collectors.toUnmodifiableSet()),
+                    listingCategoryIds(products.values().stream().map(Product::getCategory)),
+                    products.values().stream()
+                            .collect(Collectors.toUnmodifiableMap(Product::getId, Product::getVersion))));
+            entityManager.clear();
+        }
+        return Arrays.asList(results);
+    }
+
+    private String validateImport(
+            CreateProductCommand command,
+            Set<String> existingSkus,
+            Set<String> chunkSkus,
+            Map<Long, Category> categories) {
+        if (!StringUtils.hasText(command.getSku())) {
+            return "SKU is required";
+        }
+        if (!StringUtils.hasText(command.getName())) {
+            return "Name is required";
+        }
+        if (command.getPrice() == null || command.getPrice().signum() <= 0) {
+            return "Price must be positive";
+        }
+        if (command.getCategoryId() != null && !categories.containsKey(command.getCategoryId())) {
+            return "Category not found with id: " + command.getCategoryId();
+        }
+        if (existingSkus.contains(command.getSku()) || !chunkSkus.add(command.getSku())) {
+            return "Product with SKU " + command.getSku() + " already exists";
+        }
+        return null;
+    }
+
+    private List<ProductPatchResult> patchChunk(List<PatchProductCommand> chunk, int firstIndex) {
+        ProductPatchResult[] results = new ProductPatchResult[chunk.size()];
+        List<Integer> byId = new ArrayList<>();
+        List<Integer> bySku = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            PatchProductCommand command = chunk.get(i);
+            String error = validatePatch(command);
+            if (error != null) {
+                results[i] = ProductPatchResult.failed(firstIndex + i, command.getId(), command.getSku(), error);
+            } else if (command.getId() != null) {
+                byId.add(i);
+            } else {
+                bySku.add(i);
+            }
+        }
+
+        Map<Long, String> skusById = byId.isEmpty() ? Map.of() : productRepository.findKeysByIdIn(byId.stream()
+                        .map(i -> chunk.get(i).getId())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(ProductKey::getId, ProductKey::getSku));
+        Map<String, Long> idsBySku = bySku.isEmpty() ? Map.of() : productRepository.findKeysBySkuIn(bySku.stream()
+                        .map(i -> chunk.get(i).getSku())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(ProductKey::getSku, ProductKey::getId));
+
+        LocalDateTime now = LocalDateTime.now();
+        int[] idCounts = productBulkUpdateRepository.updateById(byId.stream().map(chunk::get).toList(), now);
+        int[] skuCounts = productBulkUpdateRepository.updateBySku(bySku.stream().map(chunk::get).toList(), now);
+
+        Set<Long> changedIds = new HashSet<>();
+        Set<String> changedSkus = new HashSet<>();
+        for (int k = 0; k < byId.size(); k++) {
+            int i = byId.get(k);
+            Long id = chunk.get(i).getId();
+            String sku = skusById.get(id);
+            if (sku == null) {
+                results[i] = ProductPatchResult.failed(firstIndex + i, id, null, "Product not found with id: " + id);
+            } else if (idCounts[k] == 0) {
+                results[i] = ProductPatchResult.failed(firstIndex + i, id, sku, versionConflict(chunk.get(i)));
+            } else {
+                results[i] = ProductPatchResult.updated(firstIndex + i, id, sku);
+                changedIds.add(id);
+                changedSkus.add(sku);
+            }
+        }
+        for (int k = 0; k < bySku.size(); k++) {
+            int i = bySku.get(k);
+            String sku = chunk.get(i).getSku();
+            Long id = idsBySku.get(sku);
+            if (id == null) {
+                results[i] = ProductPatchResult.failed(firstIndex + i, null, sku, "Product not found with SKU: " + sku);
+            } else if (skuCounts[k] == 0) {
+                results[i] = ProductPatchResult.failed(firstIndex + i, id, sku, versionConflict(chunk.get(i)));
+            } else {
+                results[i] = ProductPatchResult.updated(firstIndex + i, id, sku);
+                changedIds.add(id);
+                changedSkus.add(sku);
+            }
+        }
+
+        if (!changedIds.isEmpty()) {
+            Set<Long> categoryIds = productRepository.findCategoryPathsByIdIn(changedIds).stream()
+                    .flatMap(path -> CategoryTree.idsOnPath(path).stream())
+                    .collect(Collectors.toUnmodifiableSet());
+            // The batched UPDATEs bumped the versions in SQL, so read back the ones they landed on
+            Map<Long, Long> versions = productRepository.findVersionsByIdIn(changedIds).stream()
+                    .collect(Collectors.toUnmodifiableMap(ProductVersion::getId, ProductVersion::getVersion));
+            eventPublisher.publishEvent(new ProductChangedEvent(ProductChangeType.UPDATED,
+                    Collections.unmodifiableSet(changedIds), Collections.unmodifiableSet(changedSkus), categoryIds,
+                    versions));
+        }
+        return Arrays.asList(results);
+    }
+
+    private static String versionConflict(PatchProductCommand command) {
+        return "Product is no longer at version " + command.getExpectedVersion();
+    }
+
+    private String validatePatch(PatchProductCommand command) {
+        if (command.getId() == null && !StringUtils.hasText(command.getSku())) {
+            return "Product id or SKU is required";
+        }
+        if (command.getPrice() == null && command.getIsActive() == null && command.getIsVisible() == null) {
+            return "At least one of price, isActive or isVisible is required";
+        }
+        if (command.getPrice() != null && command.getPrice().signum() <= 0) {
+            return "Price must be positive";
+        }
+        return null;
+    }
+
+    private Product buildProduct(CreateProductCommand command, Category category) {
+        Product product = Product.builder()
+                .sku(command.getSku())
+                .name(command.getName())
+                .description(command.getDescription())
+                .price(command.getPrice())
+                .category(category)
+                .inventoryId(command.getInventoryId())
+                .isActive(command.getIsActive() != null ? command.getIsActive() : true)
+                .isVisible(command.getIsVisible() != null ? command.getIsVisible() : true)
+                .build();
+
+        if (command.getAttributes() != null) {
+            List<ProductAttribute> attributes = command.getAttributes().stream()
+                    .map(attrCmd -> ProductAttribute.builder()
+                            .product(product)
+                            .name(attrCmd.getName())
+                            .value(attrCmd.getValue())
+                            .displayOrder(attrCmd.getDisplayOrder())
+                            .build())
+                    .collect(Collectors.toList());
+            product.setAttributes(attributes);
+        }
+
+        if (command.getImages() != null) {
+            List<ProductImage> images = command.getImages().stream()
+                    .map(imgCmd -> ProductImage.builder()
+                            .product(product)
+                            .imageUrl(imgCmd.getImageUrl())
+                            .altText(imgCmd.getAltText())
+                            .isPrimary(imgCmd.getIsPrimary())
+                            .displayOrder(imgCmd.getDisplayOrder())
+                            .build())
+                    .collect(Collectors.toList());
+            product.setImages(images);
+        }
+
+        return product;
+    }
+
+    // Children are matched on their natural key (attribute name, image URL), so rows that did not change are not touched
+    private boolean reconcileAttributes(Product product, List<ProductAttributeCommand> commands) {
+        Map<String, Deque<ProductAttribute>> existing = new HashMap<>();
+        product.getAttributes().forEach(attribute ->
+                existing.computeIfAbsent(attribute.getName(), name -> new ArrayDeque<>()).add(attribute));
+
+        Set<ProductAttribute> retained = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<ProductAttribute> added = new ArrayList<>();
+        boolean changed = false;
+        for (ProductAttributeCommand attrCmd : commands) {
+            Deque<ProductAttribute> matches = existing.get(attrCmd.getName());
+            ProductAttribute attribute = matches != null ? matches.poll() : null;
+            if (attribute == null) {
+                added.add(ProductAttribute.builder()
+                        .product(product)
+                        .name(attrCmd.getName())
+                        .value(attrCmd.getValue())
+                        .displayOrder(attrCmd.getDisplayOrder())
+                        .build());
+                continue;
+            }
+            retained.add(attribute);
+            changed |= setIfChanged(attribute.getValue(), attrCmd.getValue(), attribute::setValue);
+            changed |= setIfChanged(attribute.getDisplayOrder(), attrCmd.getDisplayOrder(), attribute::setDisplayOrder);
+        }
+
+        changed |= product.getAttributes().removeIf(attribute -> !retained.contains(attribute));
+        product.getAttributes().addAll(added);
+        return changed || !added.isEmpty();
+    }
+
+    private boolean reconcileImages(Product product, List<ProductImageCommand> commands) {
+        Map<String, Deque<ProductImage>> existing = new HashMap<>();
+        product.getImages().forEach(image ->
+                existing.computeIfAbsent(image.getImageUrl(), url -> new ArrayDeque<>()).add(image));
+
+        Set<ProductImage> retained = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<ProductImage> added = new ArrayList<>();
+        boolean changed = false;
+        for (ProductImageCommand imgCmd : commands) {
+            Deque<ProductImage> matches = existing.get(imgCmd.getImageUrl());
+            ProductImage image = matches != null ? matches.poll() : null;
+            if (image == null) {
+                added.add(ProductImage.builder()
+                        .product(product)
+                        .imageUrl(imgCmd.getImageUrl())
+                        .altText(imgCmd.getAltText())
+                        .isPrimary(imgCmd.getIsPrimary())
+                        .displayOrder(imgCmd.getDisplayOrder())
+                        .build());
+                continue;
+            }
+            retained.add(image);
+            changed |= setIfChanged(image.getAltText(), imgCmd.getAltText(), image::setAltText);
+            changed |= setIfChanged(image.getIsPrimary(), imgCmd.getIsPrimary(), image::setIsPrimary);
+            changed |= setIfChanged(image.getDisplayOrder(), imgCmd.getDisplayOrder(), image::setDisplayOrder);
+        }
+
+        changed |= product.getImages().removeIf(image -> !retained.contains(image));
+        product.getImages().addAll(added);
+        return changed || !added.isEmpty();
+    }
+
+    private static <T> boolean setIfChanged(T current, T value, Consumer<T> setter) {
+        if (Objects.equals(current, value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    // Null means match the category id exactly, which is also what an unknown category falls back to
+    private String subtreePath(Long categoryId, boolean includeDescendants) {
+        if (!includeDescendants || categoryId == null) {
+            return null;
+        }
+        return categoryRepository.findPathById(categoryId).orElse(null);
+    }
+
+    private Set<Long> indexCategoryIds(Long categoryId, boolean includeDescendants) {
+        if (categoryId == null) {
+            return null;
+        }
+        return includeDescendants
+                ? Set.copyOf(categoryService.getCategoryTree().subtreeIds(categoryId))
+                : Set.of(categoryId);
+    }
+
+    // With the index enabled, text searches are answered from it alone. The SQL query matches the name by substring
+    // while the index matches name, description and attribute tokens, so falling back would make matches and totals
+    // depend on which node serves the page.
+    private boolean searchesIndex(String name) {
+        if (!StringUtils.hasText(name) || !productSearchIndex.isEnabled()) {
+            return false;
+        }
+        if (!productSearchIndex.isReady()) {
+            throw new ServiceUnavailableException("Product search index is not ready; retry the request");
+        }
+        return true;
+    }
+
+    private ScrollPosition keyset(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition)) {
+            throw new IllegalArgumentException("Cursor is only valid for text searches");
+        }
+        return position;
+    }
+
+    // Categories are loaded inside the write transaction, so lazy references resolve to their current path
+    private static Set<Long> listingCategoryIds(Stream<Category> categories) {
+        return categories
+                .filter(Objects::nonNull)
+                .flatMap(category -> category.getPath() != null
+                        ? CategoryTree.idsOnPath(category.getPath()).stream()
+                        : Stream.of(category.getId()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private List<Product> findAllInOrder(List<Long> productIds) {
+        Map<Long, Product> products = productRepository.findByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return productIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
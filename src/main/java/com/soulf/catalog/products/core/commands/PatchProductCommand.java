@@ -0,0 +1,17 @@
+package com.soulf.catalog.products.core.commands;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class PatchProductCommand {
+    private Long id;
+    private String sku;
+    private BigDecimal price;
+    private Boolean isActive;
+    private Boolean isVisible;
+    private Long expectedVersion;
+}
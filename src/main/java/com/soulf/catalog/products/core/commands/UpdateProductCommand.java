@@ -19,5 +19,6 @@ public class UpdateProductCommand {
     private Boolean isVisible;
     private List<ProductAttributeCommand> attributes;
     private List<ProductImageCommand> images;
+    private Long expectedVersion;
 }
 
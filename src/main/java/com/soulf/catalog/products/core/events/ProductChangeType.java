@@ -0,0 +1,8 @@
+package com.soulf.catalog.products.core.events;
+
+public enum ProductChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    DEACTIVATED
+}
@@ -0,0 +1,28 @@
+package com.soulf.catalog.products.core.events;
+
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Value
+public class ProductChangedEvent {
+
+    ProductChangeType type;
+    Set<Long> productIds;
+    Set<String> skus;
+    // Categories whose subtree listings contain the products before or after the change, ancestors included
+    Set<Long> categoryIds;
+    // Version each product is at after the change; a deleted product gets one past its last version
+    Map<Long, Long> versions;
+
+    public static ProductChangedEvent of(
+            ProductChangeType type, Long productId, Long version, Set<Long> categoryIds, String... skus) {
+        return new ProductChangedEvent(type, Set.of(productId), Arrays.stream(skus)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet()), categoryIds, Map.of(productId, version));
+    }
+}
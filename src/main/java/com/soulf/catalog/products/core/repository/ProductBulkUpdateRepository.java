@@ -0,0 +1,70 @@
+package com.soulf.catalog.products.core.repository;
+
+import com.soulf.catalog.products.core.commands.PatchProductCommand;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Plain JDBC so a price or visibility change is one batched UPDATE per chunk instead of a load, merge and flush per row
+@Repository
+@RequiredArgsConstructor
+public class ProductBulkUpdateRepository {
+
+    private static final String UPDATE_PRODUCTS = "UPDATE products SET "
+            + "price = COALESCE(?, price), "
+            + "is_active = COALESCE(?, is_active), "
+            + "is_visible = COALESCE(?, is_visible), "
+            + "updated_at = ?, "
+            + "version = version + 1 ";
+    private static final String VERSION_MATCHES = " AND (CAST(? AS BIGINT) IS NULL OR version = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int[] updateById(List<PatchProductCommand> commands, LocalDateTime updatedAt) {
+        return update(UPDATE_PRODUCTS + "WHERE id = ?" + VERSION_MATCHES, commands, updatedAt,
+                (statement, command) -> statement.setLong(5, command.getId()));
+    }
+
+    public int[] updateBySku(List<PatchProductCommand> commands, LocalDateTime updatedAt) {
+        return update(UPDATE_PRODUCTS + "WHERE sku = ?" + VERSION_MATCHES, commands, updatedAt,
+                (statement, command) -> statement.setString(5, command.getSku()));
+    }
+
+    private int[] update(String sql, List<PatchProductCommand> commands, LocalDateTime updatedAt, KeySetter keySetter) {
+        if (commands.isEmpty()) {
+            return new int[0];
+        }
+        Timestamp timestamp = Timestamp.valueOf(updatedAt);
+        return jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                PatchProductCommand command = commands.get(i);
+                statement.setObject(1, command.getPrice(), Types.NUMERIC);
+                statement.setObject(2, command.getIsActive(), Types.BOOLEAN);
+                statement.setObject(3, command.getIsVisible(), Types.BOOLEAN);
+                statement.setTimestamp(4, timestamp);
+                keySetter.set(statement, command);
+                statement.setObject(6, command.getExpectedVersion(), Types.BIGINT);
+                statement.setObject(7, command.getExpectedVersion(), Types.BIGINT);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return commands.size();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface KeySetter {
+        void set(PreparedStatement statement, PatchProductCommand command) throws SQLException;
+    }
+}
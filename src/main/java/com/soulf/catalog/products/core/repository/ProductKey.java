@@ -0,0 +1,6 @@
+package com.soulf.catalog.products.core.repository;
+
+public interface ProductKey {
+    Long getId();
+    String getSku();
+}
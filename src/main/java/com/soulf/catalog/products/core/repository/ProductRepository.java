@@ -1,27 +1,107 @@
 package com.soulf.catalog.products.core.repository;
 
 import com.soulf.catalog.products.core.domain.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+
+    String SUMMARY_SELECT = "SELECT new com.soulf.catalog.products.core.repository.ProductSummary("
+            + "p.id, p.sku, p.name, p.price, c.id, c.name, p.inventoryId, "
+            + "(SELECT MIN(i.imageUrl) FROM ProductImage i WHERE i.product = p AND i.isPrimary = true)) "
+            + "FROM Product p LEFT JOIN p.category c ";
+
+    String SEARCH_FILTER = "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
+            "(:categoryId IS NULL OR c.id = :categoryId) AND " +
+            "(:categoryPath IS NULL OR c.path LIKE CONCAT(:categoryPath, '%')) AND " +
+            "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+            "(:isActive IS NULL OR p.isActive = :isActive) AND " +
+            "(:isVisible IS NULL OR p.isVisible = :isVisible)";
 
     Optional<Product> findBySku(String sku);
 
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IN :skus")
+    Set<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
+    @Query("SELECT DISTINCT p.inventoryId FROM Product p WHERE p.inventoryId > :afterId ORDER BY p.inventoryId")
+    List<Long> findInventoryIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT p.id AS id, p.version AS version, p.inventoryId AS inventoryId, c.version AS categoryVersion "
+            + "FROM Product p LEFT JOIN p.category c WHERE p.id = :id")
+    Optional<ProductVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT p.id AS id, p.version AS version, p.inventoryId AS inventoryId, c.version AS categoryVersion "
+            + "FROM Product p LEFT JOIN p.category c WHERE p.sku = :sku")
+    Optional<ProductVersion> findVersionBySku(@Param("sku") String sku);
+
+    @Query("SELECT p.id AS id, p.version AS version, p.inventoryId AS inventoryId, c.version AS categoryVersion "
+            + "FROM Product p LEFT JOIN p.category c WHERE p.id IN :ids")
+    List<ProductVersion> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id AS id, p.version AS version, p.sku AS sku, p.price AS price, c.id AS categoryId, "
+            + "p.isActive AS isActive, p.isVisible AS isVisible FROM Product p LEFT JOIN p.category c WHERE p.id IN :ids")
+    List<ProductState> findStatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId AND p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsByCategoryIdAfter(@Param("categoryId") Long categoryId, @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT p.id AS id, p.sku AS sku FROM Product p WHERE p.id IN :ids")
+    List<ProductKey> findKeysByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id AS id, p.sku AS sku FROM Product p WHERE p.sku IN :skus")
+    List<ProductKey> findKeysBySkuIn(@Param("skus") Collection<String> skus);
+
+    @EntityGraph(attributePaths = "category")
     Page<Product> findByIsActiveTrueAndIsVisibleTrue(Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
+    Window<Product> findByIsActiveTrueAndIsVisibleTrue(ScrollPosition position, Sort sort, Limit limit);
+
+    long countByIsActiveTrueAndIsVisibleTrue();
+
     Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     Page<Product> findByCategoryIdAndIsActiveTrueAndIsVisibleTrue(Long categoryId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
+    Window<Product> findByCategoryIdAndIsActiveTrueAndIsVisibleTrue(
+            Long categoryId, ScrollPosition position, Sort sort, Limit limit);
+
+    long countByCategoryIdAndIsActiveTrueAndIsVisibleTrue(Long categoryId);
+
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findByCategoryPathStartingWithAndIsActiveTrueAndIsVisibleTrue(String categoryPath, Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    Window<Product> findByCategoryPathStartingWithAndIsActiveTrueAndIsVisibleTrue(
+            String categoryPath, ScrollPosition position, Sort sort, Limit limit);
+
+    long countByCategoryPathStartingWithAndIsActiveTrueAndIsVisibleTrue(String categoryPath);
+
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE " +
            "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
            "(:categoryId IS NULL OR p.category.id = :categoryId) AND " +
@@ -39,6 +119,51 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             Pageable pageable
     );
 
+    @Query(value = SUMMARY_SELECT + "WHERE p.isActive = true AND p.isVisible = true",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true AND p.isVisible = true")
+    Page<ProductSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE c.id = :categoryId AND p.isActive = true AND p.isVisible = true",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId AND p.isActive = true AND p.isVisible = true")
+    Page<ProductSummary> findSummariesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE c.path LIKE CONCAT(:categoryPath, '%') AND p.isActive = true AND p.isVisible = true",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.path LIKE CONCAT(:categoryPath, '%') " +
+                        "AND p.isActive = true AND p.isVisible = true")
+    Page<ProductSummary> findSummariesByCategoryPath(@Param("categoryPath") String categoryPath, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE " + SEARCH_FILTER,
+           countQuery = "SELECT COUNT(p) FROM Product p LEFT JOIN p.category c WHERE " + SEARCH_FILTER)
+    Page<ProductSummary> searchSummaries(
+            @Param("name") String name,
+            @Param("categoryId") Long categoryId,
+            @Param("categoryPath") String categoryPath,
+            @Param("minPrice") java.math.BigDecimal minPrice,
+            @Param("maxPrice") java.math.BigDecimal maxPrice,
+            @Param("isActive") Boolean isActive,
+            @Param("isVisible") Boolean isVisible,
+            Pageable pageable
+    );
+
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<ProductSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
     List<Product> findByInventoryIdIn(List<Long> inventoryIds);
+
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT DISTINCT c.path FROM Product p JOIN p.category c WHERE p.id IN :ids")
+    List<String> findCategoryPathsByIdIn(@Param("ids") Collection<Long> ids);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Product p WHERE p.updatedAt >= :updatedSince ORDER BY p.updatedAt, p.id")
+    Stream<Product> streamUpdatedSince(@Param("updatedSince") LocalDateTime updatedSince);
 }
 
@@ -0,0 +1,13 @@
+package com.soulf.catalog.products.core.repository;
+
+import java.math.BigDecimal;
+
+public interface ProductState {
+    Long getId();
+    Long getVersion();
+    String getSku();
+    BigDecimal getPrice();
+    Long getCategoryId();
+    Boolean getIsActive();
+    Boolean getIsVisible();
+}
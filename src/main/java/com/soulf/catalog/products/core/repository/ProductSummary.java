@@ -0,0 +1,15 @@
+package com.soulf.catalog.products.core.repository;
+
+import java.math.BigDecimal;
+
+// Listing projection selected straight from SQL; no child collections or description are loaded
+public record ProductSummary(
+        Long id,
+        String sku,
+        String name,
+        BigDecimal price,
+        Long categoryId,
+        String categoryName,
+        Long inventoryId,
+        String primaryImageUrl) {
+}
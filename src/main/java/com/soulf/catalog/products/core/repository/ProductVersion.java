@@ -0,0 +1,9 @@
+package com.soulf.catalog.products.core.repository;
+
+public interface ProductVersion {
+    Long getId();
+    Long getVersion();
+    Long getInventoryId();
+    // The body embeds the category name, which a rename changes without touching the product
+    Long getCategoryVersion();
+}
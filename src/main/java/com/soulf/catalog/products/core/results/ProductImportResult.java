@@ -0,0 +1,32 @@
+package com.soulf.catalog.products.core.results;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ProductImportResult {
+    private int index;
+    private String sku;
+    private boolean created;
+    private Long productId;
+    private String error;
+
+    public static ProductImportResult created(int index, String sku, Long productId) {
+        return ProductImportResult.builder()
+                .index(index)
+                .sku(sku)
+                .created(true)
+                .productId(productId)
+                .build();
+    }
+
+    public static ProductImportResult failed(int index, String sku, String error) {
+        return ProductImportResult.builder()
+                .index(index)
+                .sku(sku)
+                .created(false)
+                .error(error)
+                .build();
+    }
+}
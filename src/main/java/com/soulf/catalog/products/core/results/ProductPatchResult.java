@@ -0,0 +1,33 @@
+package com.soulf.catalog.products.core.results;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ProductPatchResult {
+    private int index;
+    private Long productId;
+    private String sku;
+    private boolean updated;
+    private String error;
+
+    public static ProductPatchResult updated(int index, Long productId, String sku) {
+        return ProductPatchResult.builder()
+                .index(index)
+                .productId(productId)
+                .sku(sku)
+                .updated(true)
+                .build();
+    }
+
+    public static ProductPatchResult failed(int index, Long productId, String sku, String error) {
+        return ProductPatchResult.builder()
+                .index(index)
+                .productId(productId)
+                .sku(sku)
+                .updated(false)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,310 @@
+package com.soulf.catalog.products.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class InventoryAvailabilityCache {
+
+    private static final String KEY_PREFIX = "catalog:inventory:";
+    private static final String SEED_LOCK_KEY = "catalog:inventory:seed-lock";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final boolean enabled;
+    private final boolean l2Enabled;
+    private final boolean serveStale;
+    private final long ttlMillis;
+    private final long staleTtlMillis;
+    private final Duration ttl;
+    private final Duration pushedTtl;
+
+    private final Map<Long, CachedQuantity> entries;
+    private final ConcurrentMap<Long, CompletableFuture<Integer>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+    private final Counter staleServes;
+
+    public InventoryAvailabilityCache(
+            RedisTemplate<String, Object> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.cache.enabled:true}") boolean enabled,
+            @Value("${inventory.cache.l2-enabled:true}") boolean l2Enabled,
+            @Value("${inventory.cache.max-size:10000}") int maxSize,
+            @Value("${inventory.cache.ttl:30s}") Duration ttl,
+            @Value("${inventory.cache.serve-stale:true}") boolean serveStale,
+            @Value("${inventory.cache.stale-ttl:10m}") Duration staleTtl,
+            @Value("${inventory.cache.pushed-ttl:15m}") Duration pushedTtl) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.l2Enabled = l2Enabled;
+        this.serveStale = serveStale;
+        this.ttl = ttl;
+        this.ttlMillis = ttl.toMillis();
+        this.staleTtlMillis = staleTtl.toMillis();
+        this.pushedTtl = pushedTtl;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedQuantity> eldest) {
+                return size() > maxSize;
+            }
+        });
+
+        this.l1Hits = counter(meterRegistry, "hit", "l1");
+        this.l2Hits = counter(meterRegistry, "hit", "l2");
+        this.misses = counter(meterRegistry, "miss", "upstream");
+        this.staleServes = counter(meterRegistry, "stale", "l1");
+        meterRegistry.gaugeMapSize("catalog.inventory.cache.size", List.of(), entries);
+    }
+
+    public Integer get(Long inventoryId, Function<Long, Integer> loader) {
+        return getAll(List.of(inventoryId), ids -> {
+            Map<Long, Integer> quantities = new HashMap<>();
+            quantities.put(inventoryId, loader.apply(inventoryId));
+            return quantities;
+        }).get(inventoryId);
+    }
+
+    public Map<Long, Integer> getAll(Collection<Long> inventoryIds, Function<List<Long>, Map<Long, Integer>> loader) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        if (!enabled) {
+            Map<Long, Integer> loaded = load(List.copyOf(inventoryIds), loader);
+            inventoryIds.forEach(inventoryId -> quantities.put(inventoryId, loaded.get(inventoryId)));
+            return quantities;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Long> missing = new ArrayList<>();
+        for (Long inventoryId : inventoryIds) {
+            CachedQuantity entry = entries.get(inventoryId);
+            if (entry != null && entry.expiresAt > now) {
+                l1Hits.increment();
+                quantities.put(inventoryId, entry.quantity);
+            } else {
+                missing.add(inventoryId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return quantities;
+        }
+
+        missing = readFromRedis(missing, quantities);
+        if (missing.isEmpty()) {
+            return quantities;
+        }
+
+        Map<Long, CompletableFuture<Integer>> owned = new HashMap<>();
+        Map<Long, CompletableFuture<Integer>> pending = new HashMap<>();
+        for (Long inventoryId : missing) {
+            CompletableFuture<Integer> future = new CompletableFuture<>();
+            CompletableFuture<Integer> existing = inFlight.putIfAbsent(inventoryId, future);
+            if (existing != null) {
+                pending.put(inventoryId, existing);
+            } else {
+                owned.put(inventoryId, future);
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            misses.increment(owned.size());
+            // Ids absent from the loader result (or all of them when it throws) count as upstream failures
+            Map<Long, Integer> loaded = Map.of();
+            try {
+                loaded = load(List.copyOf(owned.keySet()), loader);
+            } finally {
+                for (Map.Entry<Long, CompletableFuture<Integer>> ownedEntry : owned.entrySet()) {
+                    Long inventoryId = ownedEntry.getKey();
+                    Integer quantity = loaded.containsKey(inventoryId)
+                            ? store(inventoryId, loaded.get(inventoryId))
+                            : staleOrNull(inventoryId);
+                    quantities.put(inventoryId, quantity);
+                    ownedEntry.getValue().complete(quantity);
+                    inFlight.remove(inventoryId, ownedEntry.getValue());
+                }
+            }
+        }
+
+        pending.forEach((inventoryId, future) -> quantities.put(inventoryId, future.join()));
+        return quantities;
+    }
+
+    public void put(Long inventoryId, Integer quantity) {
+        if (enabled && inventoryId != null) {
+            store(inventoryId, quantity);
+        }
+    }
+
+    // Quantities pushed by inventory events are authoritative until the next event, so they outlive polled ones
+    public void putAll(Map<Long, Integer> quantities) {
+        if (!enabled || quantities.isEmpty()) {
+            return;
+        }
+        quantities.forEach((inventoryId, quantity) -> putLocal(inventoryId, quantity, pushedTtl.toMillis()));
+        if (l2Enabled) {
+            try {
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                        quantities.forEach((inventoryId, quantity) ->
+                                redis.opsForValue().set(KEY_PREFIX + inventoryId, quantity, pushedTtl));
+                        return null;
+                    }
+                });
+            } catch (Exception e) {
+                log.debug("Failed to write {} inventory quantities to Redis. Error: {}", quantities.size(), e.getMessage());
+            }
+        }
+    }
+
+    public boolean isSharedEnabled() {
+        return enabled && l2Enabled;
+    }
+
+    // Lets one node seed the shared tier for the period given; the others find the key taken and skip it
+    public boolean tryClaimSeed(String owner, Duration period) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(SEED_LOCK_KEY, owner, period));
+        } catch (Exception e) {
+            log.warn("Failed to claim the inventory seed lock. Error: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Writes the shared tier only, and only ids without a value: anything already there came from an event or a
+    // fresh fetch and is at least as new as a bulk load. Nodes pick seeded values up as L2 hits.
+    public int seedShared(Map<Long, Integer> quantities) {
+        if (!isSharedEnabled() || quantities.isEmpty()) {
+            return 0;
+        }
+        try {
+            List<Object> written = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                    quantities.forEach((inventoryId, quantity) ->
+                            redis.opsForValue().setIfAbsent(KEY_PREFIX + inventoryId, quantity, pushedTtl));
+                    return null;
+                }
+            });
+            return (int) written.stream().filter(Boolean.TRUE::equals).count();
+        } catch (Exception e) {
+            log.warn("Failed to seed {} inventory quantities to Redis. Error: {}", quantities.size(), e.getMessage());
+            return 0;
+        }
+    }
+
+    public void evict(Long inventoryId) {
+        entries.remove(inventoryId);
+        if (l2Enabled) {
+            try {
+                redisTemplate.delete(KEY_PREFIX + inventoryId);
+            } catch (Exception e) {
+                log.debug("Failed to evict inventory {} from Redis. Error: {}", inventoryId, e.getMessage());
+            }
+        }
+    }
+
+    private Map<Long, Integer> load(List<Long> inventoryIds, Function<List<Long>, Map<Long, Integer>> loader) {
+        try {
+            Map<Long, Integer> loaded = loader.apply(inventoryIds);
+            return loaded != null ? loaded : Map.of();
+        } catch (Exception e) {
+            log.warn("Failed to fetch inventory for {} inventory ids. Error: {}", inventoryIds.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private List<Long> readFromRedis(List<Long> inventoryIds, Map<Long, Integer> quantities) {
+        if (!l2Enabled) {
+            return inventoryIds;
+        }
+
+        List<Object> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(inventoryIds.stream().map(id -> KEY_PREFIX + id).toList());
+        } catch (Exception e) {
+            log.debug("Failed to read inventory availability from Redis. Error: {}", e.getMessage());
+            return inventoryIds;
+        }
+        if (values == null) {
+            return inventoryIds;
+        }
+
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < inventoryIds.size(); i++) {
+            Long inventoryId = inventoryIds.get(i);
+            if (values.get(i) instanceof Number quantity) {
+                l2Hits.increment();
+                quantities.put(inventoryId, quantity.intValue());
+                putLocal(inventoryId, quantity.intValue(), ttlMillis);
+            } else {
+                missing.add(inventoryId);
+            }
+        }
+        return missing;
+    }
+
+    private Integer store(Long inventoryId, Integer quantity) {
+        if (quantity == null) {
+            return null;
+        }
+        putLocal(inventoryId, quantity, ttlMillis);
+        if (l2Enabled) {
+            try {
+                redisTemplate.opsForValue().set(KEY_PREFIX + inventoryId, quantity, ttl);
+            } catch (Exception e) {
+                log.debug("Failed to write inventory {} to Redis. Error: {}", inventoryId, e.getMessage());
+            }
+        }
+        return quantity;
+    }
+
+    private void putLocal(Long inventoryId, Integer quantity, long entryTtlMillis) {
+        long now = System.currentTimeMillis();
+        entries.put(inventoryId, new CachedQuantity(quantity, now + entryTtlMillis, now + entryTtlMillis + staleTtlMillis));
+    }
+
+    private Integer staleOrNull(Long inventoryId) {
+        CachedQuantity entry = entries.get(inventoryId);
+        if (serveStale && entry != null && entry.staleUntil > System.currentTimeMillis()) {
+            staleServes.increment();
+            return entry.quantity;
+        }
+        return null;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result, String tier) {
+        return Counter.builder("catalog.inventory.cache.requests")
+                .description("Inventory availability lookups by cache outcome")
+                .tag("result", result)
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+
+    private record CachedQuantity(Integer quantity, long expiresAt, long staleUntil) {
+    }
+}
@@ -0,0 +1,266 @@
+package com.soulf.catalog.products.infrastructure.cache;
+
+import com.soulf.catalog.categories.core.events.CategoryChangedEvent;
+import com.soulf.catalog.products.api.dto.ProductDTO;
+import com.soulf.catalog.products.core.events.ProductChangedEvent;
+import com.soulf.catalog.products.core.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@Slf4j
+public class ProductCache {
+
+    private static final String ID_KEY_PREFIX = "catalog:product:id:";
+    private static final String SKU_KEY_PREFIX = "catalog:product:sku:";
+    // Highest product version cached or evicted, kept beside the entry so older reads cannot overwrite newer state
+    private static final String VERSION_KEY_PREFIX = "catalog:product:ver:";
+    // Category version as of its last rename; entries embedding an older category name are not written back
+    private static final String CATEGORY_VERSION_KEY_PREFIX = "catalog:product:category-ver:";
+    private static final int RENAME_EVICT_BATCH_SIZE = 1000;
+
+    // KEYS: version, entry[, category version]; ARGV: version, ttl millis, serialized product[, category version]
+    private static final byte[] PUT_IF_NEWER_SCRIPT = """
+            local floor = tonumber(redis.call('GET', KEYS[1]))
+            if floor and floor > tonumber(ARGV[1]) then
+                return 0
+            end
+            if KEYS[3] then
+                local categoryFloor = tonumber(redis.call('GET', KEYS[3]))
+                if categoryFloor and categoryFloor > tonumber(ARGV[4]) then
+                    return 0
+                end
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            redis.call('SET', KEYS[2], ARGV[3], 'PX', ARGV[2])
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    // KEYS: version, entry; ARGV: version, ttl millis. Leaves the version behind as a tombstone
+    private static final byte[] EVICT_SCRIPT = """
+            local floor = tonumber(redis.call('GET', KEYS[1]))
+            if not floor or floor < tonumber(ARGV[1]) then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            end
+            return redis.call('DEL', KEYS[2])
+            """.getBytes(StandardCharsets.UTF_8);
+
+    // KEYS: floor; ARGV: version, ttl millis
+    private static final byte[] RAISE_FLOOR_SCRIPT = """
+            local floor = tonumber(redis.call('GET', KEYS[1]))
+            if not floor or floor < tonumber(ARGV[1]) then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            end
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, ProductDTO> productRedisTemplate;
+    private final RedisSerializer<ProductDTO> productSerializer;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final Duration ttl;
+
+    @SuppressWarnings("unchecked")
+    public ProductCache(
+            RedisTemplate<String, ProductDTO> productRedisTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            ProductRepository productRepository,
+            @Value("${product.cache.enabled:true}") boolean enabled,
+            @Value("${product.cache.ttl:10m}") Duration ttl) {
+        this.productRedisTemplate = productRedisTemplate;
+        this.productSerializer = (RedisSerializer<ProductDTO>) productRedisTemplate.getValueSerializer();
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.ttl = ttl;
+    }
+
+    public Optional<ProductDTO> getById(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(productRedisTemplate.opsForValue().get(ID_KEY_PREFIX + id));
+        } catch (Exception e) {
+            log.debug("Failed to read product {} from Redis. Error: {}", id, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Optional<ProductDTO> getBySku(String sku) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String id;
+        try {
+            id = stringRedisTemplate.opsForValue().get(SKU_KEY_PREFIX + sku);
+        } catch (Exception e) {
+            log.debug("Failed to read product SKU {} from Redis. Error: {}", sku, e.getMessage());
+            return Optional.empty();
+        }
+        return id != null
+                ? getById(Long.valueOf(id)).filter(product -> sku.equals(product.getSku()))
+                : Optional.empty();
+    }
+
+    // A plain SET would let a read that loaded the product before a write committed put the old state back after
+    // the write's eviction, so the entry is only written if its version is not older than the one Redis holds
+    public void put(ProductDTO product) {
+        if (!enabled || product.getId() == null || product.getVersion() == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute((RedisCallback<Object>) connection -> putIfNewer(connection, product));
+            stringRedisTemplate.opsForValue().set(SKU_KEY_PREFIX + product.getSku(), product.getId().toString(), ttl);
+        } catch (Exception e) {
+            log.debug("Failed to write product {} to Redis. Error: {}", product.getId(), e.getMessage());
+        }
+    }
+
+    // Products that are not cached, or cannot be read, are left out of the result
+    public Map<Long, ProductDTO> getAll(List<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            List<ProductDTO> values = productRedisTemplate.opsForValue().multiGet(ids.stream()
+                    .map(id -> ID_KEY_PREFIX + id)
+                    .toList());
+            Map<Long, ProductDTO> products = new HashMap<>();
+            for (int i = 0; values != null && i < ids.size(); i++) {
+                if (values.get(i) != null) {
+                    products.put(ids.get(i), values.get(i));
+                }
+            }
+            return products;
+        } catch (Exception e) {
+            log.debug("Failed to read {} products from Redis. Error: {}", ids.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    // One pipeline of the same version-checked writes as put, so a listing page cannot overwrite newer entries
+    public void putAll(Collection<ProductDTO> products) {
+        List<ProductDTO> cacheable = products.stream()
+                .filter(product -> product.getId() != null && product.getVersion() != null)
+                .toList();
+        if (!enabled || cacheable.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (ProductDTO product : cacheable) {
+                    putIfNewer(connection, product);
+                    connection.stringCommands().set(bytes(SKU_KEY_PREFIX + product.getSku()),
+                            bytes(product.getId().toString()), Expiration.from(ttl), SetOption.upsert());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.debug("Failed to write {} products to Redis. Error: {}", cacheable.size(), e.getMessage());
+        }
+    }
+
+    // Deletes the entries and raises each product's version floor to the version the change produced
+    public void evict(Collection<Long> ids, Map<Long, Long> versions, Collection<String> skus) {
+        if (!enabled) {
+            return;
+        }
+        byte[] ttlMillis = bytes(Long.toString(ttl.toMillis()));
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long id : ids) {
+                    Long version = versions.get(id);
+                    if (version != null) {
+                        connection.scriptingCommands().eval(EVICT_SCRIPT, ReturnType.INTEGER, 2,
+                                bytes(VERSION_KEY_PREFIX + id), bytes(ID_KEY_PREFIX + id), bytes(version.toString()),
+                                ttlMillis);
+                    } else {
+                        connection.keyCommands().del(bytes(ID_KEY_PREFIX + id));
+                    }
+                }
+                skus.forEach(sku -> connection.keyCommands().del(bytes(SKU_KEY_PREFIX + sku)));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to evict {} products from Redis. Error: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.getProductIds(), event.getVersions(), event.getSkus());
+    }
+
+    // Cached products embed their category name; SKU pointers stay valid since they only map to ids. The category
+    // floor goes up before any entry is deleted, so a read that loaded the old name cannot write it back afterwards.
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (!enabled || !event.isRenamed()) {
+            return;
+        }
+        try {
+            if (event.getVersion() != null) {
+                raiseCategoryFloor(event.getCategoryId(), event.getVersion());
+            }
+            int evicted = 0;
+            List<Long> ids = productRepository.findIdsByCategoryIdAfter(event.getCategoryId(), 0L,
+                    Limit.of(RENAME_EVICT_BATCH_SIZE));
+            while (!ids.isEmpty()) {
+                byte[][] keys = ids.stream().map(id -> bytes(ID_KEY_PREFIX + id)).toArray(byte[][]::new);
+                stringRedisTemplate.execute((RedisCallback<Long>) connection -> connection.keyCommands().del(keys));
+                evicted += ids.size();
+                ids = ids.size() < RENAME_EVICT_BATCH_SIZE ? List.of() : productRepository.findIdsByCategoryIdAfter(
+                        event.getCategoryId(), ids.get(ids.size() - 1), Limit.of(RENAME_EVICT_BATCH_SIZE));
+            }
+            log.debug("Evicted {} cached products of renamed category {}", evicted, event.getCategoryId());
+        } catch (Exception e) {
+            log.warn("Failed to evict products of renamed category {}. Error: {}", event.getCategoryId(), e.getMessage());
+        }
+    }
+
+    private void raiseCategoryFloor(Long categoryId, Long version) {
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> connection.scriptingCommands().eval(
+                RAISE_FLOOR_SCRIPT, ReturnType.INTEGER, 1, bytes(CATEGORY_VERSION_KEY_PREFIX + categoryId),
+                bytes(version.toString()), bytes(Long.toString(ttl.toMillis()))));
+    }
+
+    private Object putIfNewer(RedisConnection connection, ProductDTO product) {
+        byte[] versionKey = bytes(VERSION_KEY_PREFIX + product.getId());
+        byte[] entryKey = bytes(ID_KEY_PREFIX + product.getId());
+        byte[] version = bytes(product.getVersion().toString());
+        byte[] ttlMillis = bytes(Long.toString(ttl.toMillis()));
+        byte[] serialized = productSerializer.serialize(product);
+        if (product.getCategoryId() == null || product.getCategoryVersion() == null) {
+            return connection.scriptingCommands().eval(PUT_IF_NEWER_SCRIPT, ReturnType.INTEGER, 2,
+                    versionKey, entryKey, version, ttlMillis, serialized);
+        }
+        return connection.scriptingCommands().eval(PUT_IF_NEWER_SCRIPT, ReturnType.INTEGER, 3,
+                versionKey, entryKey, bytes(CATEGORY_VERSION_KEY_PREFIX + product.getCategoryId()),
+                version, ttlMillis, serialized, bytes(product.getCategoryVersion().toString()));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
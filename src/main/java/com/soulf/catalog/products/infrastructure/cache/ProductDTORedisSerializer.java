@@ -0,0 +1,50 @@
+package com.soulf.catalog.products.infrastructure.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.soulf.catalog.products.api.dto.ProductDTO;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+public class ProductDTORedisSerializer implements RedisSerializer<ProductDTO> {
+
+    // Bump whenever ProductDTO changes incompatibly; entries written with another format read as misses
+    static final byte FORMAT_VERSION = 3;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Override
+    public byte[] serialize(ProductDTO product) throws SerializationException {
+        if (product == null) {
+            return null;
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(product);
+            byte[] bytes = new byte[json.length + 1];
+            bytes[0] = FORMAT_VERSION;
+            System.arraycopy(json, 0, bytes, 1, json.length);
+            return bytes;
+        } catch (IOException e) {
+            throw new SerializationException("Could not serialize product " + product.getId(), e);
+        }
+    }
+
+    @Override
+    public ProductDTO deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < 2 || bytes[0] != FORMAT_VERSION) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(bytes, 1, bytes.length - 1, ProductDTO.class);
+        } catch (IOException e) {
+            throw new SerializationException("Could not deserialize cached product", e);
+        }
+    }
+}
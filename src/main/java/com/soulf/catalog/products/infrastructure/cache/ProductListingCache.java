@@ -0,0 +1,149 @@
+package com.soulf.catalog.products.infrastructure.cache;
+
+import com.soulf.catalog.categories.core.events.CategoryChangedEvent;
+import com.soulf.catalog.products.core.events.ProductChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Listing pages are cached as product ids plus the total, under a key that embeds the write generation of the
+// listing's scope: a category, or "all" for unscoped listings. A product write bumps the generation of every
+// category it sits under, ancestors included, plus "all", so stale pages are never read again and expire on
+// their own. Reading the generation before the query means a page built from pre-write data is stored under
+// the old generation.
+@Component
+@Slf4j
+public class ProductListingCache {
+
+    private static final String PAGE_KEY_PREFIX = "catalog:listing:page:";
+    private static final String GENERATION_KEY_PREFIX = "catalog:listing:generation:";
+    private static final String GLOBAL_SCOPE = "all";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ProductListingCache(
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${product.listing-cache.enabled:true}") boolean enabled,
+            @Value("${product.listing-cache.ttl:2m}") Duration ttl) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+    }
+
+    public record CachedPage(List<Long> productIds, long total) {
+    }
+
+    // The key to store a freshly loaded page under, and the cached page if there was one
+    public record Lookup(String key, CachedPage page) {
+
+        private static final Lookup UNCACHED = new Lookup(null, null);
+    }
+
+    // A null category means the unscoped listing; the query must identify everything else about the page
+    public Lookup lookup(Long categoryId, String query) {
+        if (!enabled) {
+            return Lookup.UNCACHED;
+        }
+        String scope = categoryId != null ? categoryId.toString() : GLOBAL_SCOPE;
+        try {
+            String generation = stringRedisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + scope);
+            String key = PAGE_KEY_PREFIX + scope + ":" + (generation != null ? generation : "0") + ":" + query;
+            CachedPage page = decode(stringRedisTemplate.opsForValue().get(key));
+            (page != null ? hits : misses).increment();
+            return new Lookup(key, page);
+        } catch (Exception e) {
+            log.debug("Failed to read listing page {} from Redis. Error: {}", query, e.getMessage());
+            return Lookup.UNCACHED;
+        }
+    }
+
+    public void put(Lookup lookup, List<Long> productIds, long total) {
+        if (lookup.key() == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForValue().set(lookup.key(), encode(productIds, total), ttl);
+        } catch (Exception e) {
+            log.debug("Failed to write listing page {} to Redis. Error: {}", lookup.key(), e.getMessage());
+        }
+    }
+
+    // Generations never expire; a reset would let pages from before the reset be read again
+    public void bump(Collection<Long> categoryIds, boolean global) {
+        if (!enabled || (categoryIds.isEmpty() && !global)) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(categoryIds.size() + 1);
+        categoryIds.forEach(categoryId -> keys.add(GENERATION_KEY_PREFIX + categoryId));
+        if (global) {
+            keys.add(GENERATION_KEY_PREFIX + GLOBAL_SCOPE);
+        }
+        try {
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                    keys.forEach(key -> redis.opsForValue().increment(key));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to bump {} listing generations; pages may be stale for up to {}. Error: {}",
+                    keys.size(), ttl, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        bump(event.getCategoryIds(), true);
+    }
+
+    // A moved or deleted category changes which products its old and new ancestors' subtrees contain
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        bump(event.getAncestorIds(), false);
+    }
+
+    private static String encode(List<Long> productIds, long total) {
+        return total + ":" + productIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static CachedPage decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        int separator = value.indexOf(':');
+        String ids = value.substring(separator + 1);
+        return new CachedPage(
+                ids.isEmpty() ? List.of() : Arrays.stream(ids.split(",")).map(Long::valueOf).toList(),
+                Long.parseLong(value.substring(0, separator)));
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("catalog.product.listing.cache.requests")
+                .description("Product listing page lookups by cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
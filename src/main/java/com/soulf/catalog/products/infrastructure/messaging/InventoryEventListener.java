@@ -0,0 +1,152 @@
+package com.soulf.catalog.products.infrastructure.messaging;
+
+import com.soulf.catalog.products.core.repository.ProductRepository;
+import com.soulf.catalog.products.infrastructure.cache.InventoryAvailabilityCache;
+import com.soulf.catalog.products.infrastructure.provider.InventoryServiceProvider;
+import com.soulf.catalog.products.infrastructure.provider.dto.InventoryResponseDTO;
+import com.soulf.catalog.shared.invalidation.InvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps inventory availability current from inventory-updated events so product reads rarely call the inventory
+// service. Every node keeps its own in-memory copy, so each consumes the topic in its own consumer group.
+// The startup load only seeds the shared Redis tier, once for all nodes.
+@Component
+@Slf4j
+public class InventoryEventListener {
+
+    private final InventoryAvailabilityCache availabilityCache;
+    private final InventoryServiceProvider inventoryServiceProvider;
+    private final ProductRepository productRepository;
+    private final InvalidationBus invalidationBus;
+    private final boolean enabled;
+    private final boolean bootstrapEnabled;
+    private final int bootstrapBatchSize;
+    private final Duration bootstrapInterval;
+
+    public InventoryEventListener(
+            InventoryAvailabilityCache availabilityCache,
+            InventoryServiceProvider inventoryServiceProvider,
+            ProductRepository productRepository,
+            InvalidationBus invalidationBus,
+            @Value("${inventory.events.enabled:true}") boolean enabled,
+            @Value("${inventory.events.bootstrap:true}") boolean bootstrapEnabled,
+            @Value("${inventory.events.bootstrap-batch-size:1000}") int bootstrapBatchSize,
+            @Value("${inventory.events.bootstrap-interval:15m}") Duration bootstrapInterval) {
+        this.availabilityCache = availabilityCache;
+        this.inventoryServiceProvider = inventoryServiceProvider;
+        this.productRepository = productRepository;
+        this.invalidationBus = invalidationBus;
+        this.enabled = enabled;
+        this.bootstrapEnabled = bootstrapEnabled;
+        this.bootstrapBatchSize = bootstrapBatchSize;
+        this.bootstrapInterval = bootstrapInterval;
+    }
+
+    public String getGroupId() {
+        return "catalog-inventory-" + invalidationBus.getNodeId();
+    }
+
+    // Records are keyed by inventory id, so the topic can be compacted and a null value is a deletion
+    @KafkaListener(
+            topics = "${inventory.events.topic:inventory.inventory-updated}",
+            groupId = "#{__listener.groupId}",
+            containerFactory = "inventoryListenerContainerFactory",
+            autoStartup = "${inventory.events.enabled:true}")
+    public void onInventoryUpdated(List<ConsumerRecord<String, InventoryResponseDTO>> records) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        List<Long> deleted = new ArrayList<>();
+        for (ConsumerRecord<String, InventoryResponseDTO> record : records) {
+            if (record.value() == null && record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                log.warn("Skipping unreadable inventory event at offset {} of partition {}", record.offset(), record.partition());
+                continue;
+            }
+            Long inventoryId = inventoryId(record);
+            if (inventoryId == null) {
+                continue;
+            }
+            // Later records for the same id in one poll replace earlier ones
+            if (record.value() == null || record.value().getAvailableQuantity() == null) {
+                quantities.remove(inventoryId);
+                deleted.add(inventoryId);
+            } else {
+                deleted.remove(inventoryId);
+                quantities.put(inventoryId, record.value().getAvailableQuantity());
+            }
+        }
+
+        availabilityCache.putAll(quantities);
+        deleted.forEach(availabilityCache::evict);
+        log.debug("Applied {} inventory updates and {} deletions from {} events", quantities.size(), deleted.size(), records.size());
+    }
+
+    // Only the node that claims the seed lock loads, at most once per bootstrap interval. Values are only written
+    // to Redis ids that have none, so an event applied during the load is never overwritten by older fetched data.
+    public void bootstrap() {
+        if (!availabilityCache.isSharedEnabled()) {
+            log.info("Skipping inventory availability bootstrap; the shared cache tier is disabled");
+            return;
+        }
+        if (!availabilityCache.tryClaimSeed(invalidationBus.getNodeId(), bootstrapInterval)) {
+            log.info("Skipping inventory availability bootstrap; another node has seeded it recently");
+            return;
+        }
+        log.info("Seeding inventory availability for catalog products");
+        long startedAt = System.currentTimeMillis();
+        int fetched = 0;
+        int seeded = 0;
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<Long> inventoryIds = productRepository.findInventoryIdsAfter(lastId, Limit.of(bootstrapBatchSize));
+            if (inventoryIds.isEmpty()) {
+                break;
+            }
+            Map<Long, Integer> quantities =
+                    new HashMap<>(inventoryServiceProvider.fetchAllAvailableQuantities(inventoryIds));
+            quantities.values().removeIf(quantity -> quantity == null);
+            fetched += quantities.size();
+            seeded += availabilityCache.seedShared(quantities);
+            lastId = inventoryIds.get(inventoryIds.size() - 1);
+        }
+        log.info("Seeded inventory availability for {} of {} fetched inventory ids in {} ms",
+                seeded, fetched, System.currentTimeMillis() - startedAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled && bootstrapEnabled) {
+            Thread.ofVirtual().name("inventory-availability-bootstrap").start(() -> {
+                try {
+                    bootstrap();
+                } catch (Exception e) {
+                    log.error("Failed to load inventory availability; reads will fetch it on demand", e);
+                }
+            });
+        }
+    }
+
+    private static Long inventoryId(ConsumerRecord<String, InventoryResponseDTO> record) {
+        if (record.key() != null) {
+            try {
+                return Long.valueOf(record.key());
+            } catch (NumberFormatException e) {
+                log.debug("Inventory event key {} is not an inventory id", record.key());
+            }
+        }
+        return record.value() != null ? record.value().getInventoryId() : null;
+    }
+}
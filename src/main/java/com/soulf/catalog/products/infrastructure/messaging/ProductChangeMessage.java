@@ -0,0 +1,18 @@
+package com.soulf.catalog.products.infrastructure.messaging;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Carries the product as committed; version orders changes per product, so consumers drop anything older than
+// what they have applied. State fields are null for a deleted product.
+public record ProductChangeMessage(
+        String eventType,
+        Long productId,
+        Long version,
+        String sku,
+        BigDecimal price,
+        Long categoryId,
+        Boolean isActive,
+        Boolean isVisible,
+        Instant occurredAt) {
+}
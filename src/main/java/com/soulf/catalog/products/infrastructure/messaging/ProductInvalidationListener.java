@@ -0,0 +1,37 @@
+package com.soulf.catalog.products.infrastructure.messaging;
+
+import com.soulf.catalog.products.core.events.ProductChangedEvent;
+import com.soulf.catalog.products.infrastructure.search.ProductSearchIndex;
+import com.soulf.catalog.shared.invalidation.InvalidationBus;
+import com.soulf.catalog.shared.invalidation.InvalidationHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class ProductInvalidationListener implements InvalidationHandler {
+
+    public static final String ENTITY_TYPE = "product";
+
+    private final InvalidationBus invalidationBus;
+    private final ProductSearchIndex productSearchIndex;
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidationBus.publish(ENTITY_TYPE, event.getVersions());
+    }
+
+    @Override
+    public String entityType() {
+        return ENTITY_TYPE;
+    }
+
+    // The shared Redis product cache was already evicted by the writing node; only node-local state is refreshed
+    @Override
+    public void invalidate(Set<Long> ids) {
+        productSearchIndex.refresh(ids);
+    }
+}
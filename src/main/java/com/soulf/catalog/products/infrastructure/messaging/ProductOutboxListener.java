@@ -0,0 +1,51 @@
+package com.soulf.catalog.products.infrastructure.messaging;
+
+import com.soulf.catalog.products.core.events.ProductChangeType;
+import com.soulf.catalog.products.core.events.ProductChangedEvent;
+import com.soulf.catalog.products.core.repository.ProductRepository;
+import com.soulf.catalog.products.core.repository.ProductState;
+import com.soulf.catalog.shared.outbox.OutboxWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ProductOutboxListener {
+
+    private final OutboxWriter outboxWriter;
+    private final ProductRepository productRepository;
+
+    @Value("${catalog.events.product-topic:catalog.product-events}")
+    private String topic;
+
+    // One message per product, keyed by id, so every change to a product lands on the same partition in order.
+    // The state is read inside the committing transaction, after pending changes are flushed.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        String eventType = "PRODUCT_" + event.getType();
+        Instant occurredAt = Instant.now();
+        Map<Long, ProductState> states = event.getType() == ProductChangeType.DELETED
+                ? Map.of()
+                : productRepository.findStatesByIdIn(event.getProductIds()).stream()
+                        .collect(Collectors.toMap(ProductState::getId, Function.identity()));
+        event.getProductIds().forEach(productId -> outboxWriter.append(topic, productId.toString(), eventType,
+                toMessage(eventType, productId, event.getVersions().get(productId), states.get(productId), occurredAt)));
+    }
+
+    private static ProductChangeMessage toMessage(
+            String eventType, Long productId, Long version, ProductState state, Instant occurredAt) {
+        if (state == null) {
+            return new ProductChangeMessage(eventType, productId, version, null, null, null, null, null, occurredAt);
+        }
+        return new ProductChangeMessage(eventType, productId, state.getVersion(), state.getSku(), state.getPrice(),
+                state.getCategoryId(), state.getIsActive(), state.getIsVisible(), occurredAt);
+    }
+}
@@ -0,0 +1,10 @@
+package com.soulf.catalog.products.infrastructure.provider;
+
+// Raised by an inventory attempt that failed after the other attempt of its hedge had already decided the call.
+// The circuit breaker ignores it, so one caller's call is never counted twice.
+public class HedgeCancelledException extends RuntimeException {
+
+    public HedgeCancelledException(Throwable cause) {
+        super("Inventory attempt abandoned after its hedge completed", cause);
+    }
+}
@@ -1,25 +1,296 @@
 package com.soulf.catalog.products.infrastructure.provider;
 
+import com.soulf.catalog.products.infrastructure.cache.InventoryAvailabilityCache;
 import com.soulf.catalog.products.infrastructure.provider.dto.InventoryResponseDTO;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.decorators.Decorators;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class InventoryServiceProvider {
 
+    private static final String RESILIENCE_INSTANCE = "inventory";
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
     private final InventoryServiceClient client;
+    private final InventoryAvailabilityCache availabilityCache;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration pageDeadline;
+    private final boolean hedgingEnabled;
+    private final Duration hedgeDelay;
+
+    private final ExecutorService hedgeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter hedgesIssued;
+    private final Counter hedgesWon;
+
+    public InventoryServiceProvider(
+            InventoryServiceClient client,
+            InventoryAvailabilityCache availabilityCache,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.service.batch-size:100}") int batchSize,
+            @Value("${inventory.service.page-deadline:2s}") Duration pageDeadline,
+            @Value("${inventory.service.hedging.enabled:false}") boolean hedgingEnabled,
+            @Value("${inventory.service.hedging.delay:150ms}") Duration hedgeDelay) {
+        this.client = client;
+        this.availabilityCache = availabilityCache;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE_INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(RESILIENCE_INSTANCE);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.pageDeadline = pageDeadline;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgeDelay = hedgeDelay;
+
+        this.hedgesIssued = hedgeCounter(meterRegistry, "issued");
+        this.hedgesWon = hedgeCounter(meterRegistry, "won");
+        Counter circuitOpen = rejectionCounter(meterRegistry, "circuit_open");
+        Counter bulkheadFull = rejectionCounter(meterRegistry, "bulkhead_full");
+        circuitBreaker.getEventPublisher().onCallNotPermitted(event -> circuitOpen.increment());
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Inventory circuit breaker moved {}", event.getStateTransition()));
+        bulkhead.getEventPublisher().onCallRejected(event -> bulkheadFull.increment());
+    }
 
     public Integer getAvailableQuantity(Long inventoryId) {
+        return availabilityCache.get(inventoryId, this::fetchAvailableQuantity);
+    }
+
+    public Map<Long, Integer> getAvailableQuantities(Collection<Long> inventoryIds) {
+        List<Long> ids = inventoryIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        return availabilityCache.getAll(ids, this::fetchAvailableQuantities);
+    }
+
+    private Integer fetchAvailableQuantity(Long inventoryId) {
+        InventoryResponseDTO inventory = execute("single", () -> client.getInventoryById(inventoryId));
+        return inventory != null ? inventory.getAvailableQuantity() : null;
+    }
+
+    // Reads straight from the inventory service, bypassing the cache. A single chunk goes through the same
+    // deadline-bounded path as several, since its per-id fallback alone can take far longer than the page deadline.
+    public Map<Long, Integer> fetchAvailableQuantities(List<Long> inventoryIds) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < inventoryIds.size(); from += batchSize) {
+            chunks.add(inventoryIds.subList(from, Math.min(from + batchSize, inventoryIds.size())));
+        }
+        return chunks.isEmpty() ? new HashMap<>() : fetchInParallel(chunks);
+    }
+
+    // For background loads: chunks are fetched one after another and every one is waited for, so a slow chunk is
+    // not dropped at the page deadline and the inventory service sees one call at a time
+    public Map<Long, Integer> fetchAllAvailableQuantities(List<Long> inventoryIds) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (int from = 0; from < inventoryIds.size(); from += batchSize) {
+            List<Long> chunk = inventoryIds.subList(from, Math.min(from + batchSize, inventoryIds.size()));
+            quantities.putAll(fetchBatch(chunk, NO_DEADLINE));
+        }
+        return quantities;
+    }
+
+    // Chunks are fetched on virtual threads and the scope only closes once every subtask has completed or been
+    // cancelled. Chunks still running at the page deadline are cancelled and their ids left for the cache to
+    // resolve as stale or empty.
+    private Map<Long, Integer> fetchInParallel(List<List<Long>> chunks) {
+        long deadline = System.nanoTime() + pageDeadline.toNanos();
+        Map<Long, Integer> quantities = new HashMap<>();
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Map<Long, Integer>>> subtasks = chunks.stream()
+                    .map(chunk -> scope.submit(() -> fetchBatch(chunk, deadline)))
+                    .toList();
+            int timedOut = 0;
+            for (Future<Map<Long, Integer>> subtask : subtasks) {
+                try {
+                    quantities.putAll(subtask.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    timedOut++;
+                    subtask.cancel(true);
+                } catch (ExecutionException e) {
+                    log.warn("Failed to fetch inventory chunk. Error: {}", e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    subtasks.forEach(pending -> pending.cancel(true));
+                    break;
+                }
+            }
+            if (timedOut > 0) {
+                log.warn("{} of {} inventory chunks missed the {} ms page deadline", timedOut, chunks.size(), pageDeadline.toMillis());
+            }
+        }
+        return quantities;
+    }
+
+    private Map<Long, Integer> fetchBatch(List<Long> inventoryIds, long deadline) {
+        Map<Long, Integer> quantities = new HashMap<>();
         try {
-            InventoryResponseDTO inventory = client.getInventoryById(inventoryId);
-            return inventory != null ? inventory.getAvailableQuantity() : null;
+            List<InventoryResponseDTO> inventories = execute("batch", () -> client.getInventoryBatch(inventoryIds));
+            if (inventories != null) {
+                inventories.stream()
+                        .filter(inventory -> inventory != null && inventory.getInventoryId() != null)
+                        .forEach(inventory -> quantities.put(inventory.getInventoryId(), inventory.getAvailableQuantity()));
+            }
         } catch (Exception e) {
-            log.warn("Failed to fetch inventory for inventoryId: {}. Error: {}", inventoryId, e.getMessage());
-            return null;
+            log.warn("Failed to fetch inventory batch of {} ids. Error: {}", inventoryIds.size(), e.getMessage());
+            return quantities;
         }
+
+        // Only ids missing from an otherwise successful batch response are retried one by one, and only until the
+        // deadline passes or the chunk is cancelled; the ids left over resolve as stale or empty
+        List<Long> missing = inventoryIds.stream()
+                .filter(inventoryId -> !quantities.containsKey(inventoryId))
+                .toList();
+        for (int i = 0; i < missing.size(); i++) {
+            if (Thread.currentThread().isInterrupted() || pastDeadline(deadline)) {
+                log.warn("Skipped the per-id fallback for {} of {} inventory ids at the deadline",
+                        missing.size() - i, missing.size());
+                break;
+            }
+            Long inventoryId = missing.get(i);
+            try {
+                quantities.put(inventoryId, fetchAvailableQuantity(inventoryId));
+            } catch (Exception e) {
+                log.warn("Failed to fetch inventory for inventoryId: {}. Error: {}", inventoryId, e.getMessage());
+            }
+        }
+        return quantities;
     }
-}
 
+    // Rejected calls fail fast, and callers fall back to the cached quantity or leave availability empty.
+    // The timer covers what the caller waits for, hedges included.
+    private <T> T execute(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return hedgingEnabled ? hedged(call) : guard(call).get();
+        } catch (RuntimeException e) {
+            outcome = e instanceof CallNotPermittedException || e instanceof BulkheadFullException ? "rejected" : "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("catalog.inventory.calls")
+                    .description("Inventory service calls by operation and outcome")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private <T> Supplier<T> guard(Supplier<T> call) {
+        return Decorators.ofSupplier(call)
+                .withBulkhead(bulkhead)
+                .withCircuitBreaker(circuitBreaker)
+                .decorate();
+    }
+
+    // Inventory reads are idempotent, so a call still running after the hedge delay gets a duplicate and the
+    // first successful response wins. The other attempt is then cancelled so it frees its bulkhead permit, and
+    // its failure is ignored by the circuit breaker. No duplicate is sent while the bulkhead is full.
+    private <T> T hedged(Supplier<T> call) {
+        AtomicBoolean decided = new AtomicBoolean();
+        Supplier<T> guarded = guard(() -> {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (decided.get()) {
+                    throw new HedgeCancelledException(e);
+                }
+                throw e;
+            }
+        });
+        CompletionService<T> attempts = new ExecutorCompletionService<>(hedgeExecutor);
+        Future<T> primary = attempts.submit(guarded::get);
+        Future<T> hedge = null;
+        try {
+            Future<T> completed = attempts.poll(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+            if (completed == null && bulkhead.getMetrics().getAvailableConcurrentCalls() > 0) {
+                hedgesIssued.increment();
+                hedge = attempts.submit(guarded::get);
+            }
+            ExecutionException failure = null;
+            for (int pending = hedge == null ? 1 : 2; pending > 0; pending--) {
+                if (completed == null) {
+                    completed = attempts.take();
+                }
+                try {
+                    T result = completed.get();
+                    if (completed == hedge) {
+                        hedgesWon.increment();
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    failure = e;
+                    completed = null;
+                }
+            }
+            throw unwrap(failure.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for inventory service", e);
+        } finally {
+            decided.set(true);
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private static boolean pastDeadline(long deadline) {
+        return deadline != NO_DEADLINE && System.nanoTime() - deadline > 0;
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("catalog.inventory.hedges")
+                .description("Hedged inventory requests by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("catalog.inventory.calls.rejected")
+                .description("Inventory calls rejected before reaching the inventory service")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
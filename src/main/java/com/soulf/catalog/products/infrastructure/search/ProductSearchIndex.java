@@ -0,0 +1,342 @@
+package com.soulf.catalog.products.infrastructure.search;
+
+import com.soulf.catalog.products.core.domain.Product;
+import com.soulf.catalog.products.core.events.ProductChangedEvent;
+import com.soulf.catalog.products.core.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float ATTRIBUTE_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+    private final int rebuildBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held across a refresh's read and apply, so a refresh that read earlier can never apply after one that read later
+    private final Lock refreshLock = new ReentrantLock();
+    private Segment segment = new Segment();
+    private volatile boolean ready;
+    private volatile Set<Long> changedDuringRebuild;
+
+    public ProductSearchIndex(
+            ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${product.search.index.enabled:true}") boolean enabled,
+            @Value("${product.search.index.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.productRepository = productRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public Page<Long> search(
+            String text,
+            Collection<Long> categoryIds,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Boolean isActive,
+            Boolean isVisible,
+            Pageable pageable) {
+        List<Long> ranked = rank(text, categoryIds, minPrice, maxPrice, isActive, isVisible);
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        return new PageImpl<>(ranked.subList(from, to), pageable, ranked.size());
+    }
+
+    // Positions are offsets counting the results consumed so far, so the next window starts at getOffset()
+    public Window<Long> scroll(
+            String text,
+            Collection<Long> categoryIds,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Boolean isActive,
+            Boolean isVisible,
+            long offset,
+            int limit) {
+        List<Long> ranked = rank(text, categoryIds, minPrice, maxPrice, isActive, isVisible);
+        int from = (int) Math.min(offset, ranked.size());
+        int to = Math.min(from + limit, ranked.size());
+        return Window.from(ranked.subList(from, to), index -> ScrollPosition.offset(from + index + 1L), to < ranked.size());
+    }
+
+    private List<Long> rank(
+            String text,
+            Collection<Long> categoryIds,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Boolean isActive,
+            Boolean isVisible) {
+        List<String> queryTokens = tokenize(text).distinct().toList();
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        List<Map.Entry<Long, Float>> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String token : queryTokens) {
+                Map<Long, Float> tokenScores = segment.score(token);
+                scores = scores == null ? tokenScores : intersect(scores, tokenScores);
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            for (Map.Entry<Long, Float> scored : scores.entrySet()) {
+                IndexedProduct product = segment.documents.get(scored.getKey());
+                if (product.matches(categoryIds, minPrice, maxPrice, isActive, isVisible)) {
+                    matches.add(scored);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Map.Entry.<Long, Float>comparingByValue().reversed()
+                .thenComparing(Map.Entry.<Long, Float>comparingByKey()));
+        return matches.stream()
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public void refresh(Collection<Long> productIds) {
+        if (!enabled || productIds.isEmpty()) {
+            return;
+        }
+        Set<Long> pending = changedDuringRebuild;
+        if (pending != null) {
+            pending.addAll(productIds);
+        }
+
+        refreshLock.lock();
+        try {
+            List<IndexedProduct> documents = readTransaction.execute(status ->
+                    productRepository.findByIdIn(productIds).stream()
+                            .map(this::toDocument)
+                            .toList());
+
+            lock.writeLock().lock();
+            try {
+                productIds.forEach(segment::remove);
+                if (documents != null) {
+                    documents.forEach(segment::add);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        log.info("Rebuilding product search index");
+        long startedAt = System.currentTimeMillis();
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+
+        Segment rebuilt = new Segment();
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            List<IndexedProduct> batch = readTransaction.execute(status ->
+                    productRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(rebuildBatchSize)).stream()
+                            .map(this::toDocument)
+                            .toList());
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            batch.forEach(rebuilt::add);
+            lastId = batch.get(batch.size() - 1).id();
+        }
+
+        lock.writeLock().lock();
+        try {
+            segment = rebuilt;
+            changedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        refresh(changed);
+        log.info("Product search index rebuilt with {} products in {} ms",
+                rebuilt.documents.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            Thread.ofVirtual().name("product-search-index-rebuild").start(() -> {
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    changedDuringRebuild = null;
+                    log.error("Failed to rebuild product search index; searches will use the database", e);
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            refresh(event.getProductIds());
+        } catch (Exception e) {
+            log.warn("Failed to refresh search index for products {}. Error: {}", event.getProductIds(), e.getMessage());
+        }
+    }
+
+    private IndexedProduct toDocument(Product product) {
+        Map<String, Float> tokens = new HashMap<>();
+        addTokens(tokens, product.getName(), NAME_WEIGHT);
+        addTokens(tokens, product.getDescription(), DESCRIPTION_WEIGHT);
+        product.getAttributes().forEach(attribute -> addTokens(tokens, attribute.getValue(), ATTRIBUTE_WEIGHT));
+        return new IndexedProduct(
+                product.getId(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getPrice(),
+                Boolean.TRUE.equals(product.getIsActive()),
+                Boolean.TRUE.equals(product.getIsVisible()),
+                tokens);
+    }
+
+    private static void addTokens(Map<String, Float> tokens, String text, float weight) {
+        tokenize(text).forEach(token -> tokens.merge(token, weight, Float::sum));
+    }
+
+    private static Stream<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Stream.empty();
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty());
+    }
+
+    private static Map<Long, Float> intersect(Map<Long, Float> scores, Map<Long, Float> tokenScores) {
+        Map<Long, Float> intersection = new HashMap<>();
+        scores.forEach((productId, score) -> {
+            Float tokenScore = tokenScores.get(productId);
+            if (tokenScore != null) {
+                intersection.put(productId, score + tokenScore);
+            }
+        });
+        return intersection;
+    }
+
+    private record IndexedProduct(
+            Long id,
+            Long categoryId,
+            BigDecimal price,
+            boolean active,
+            boolean visible,
+            Map<String, Float> tokens) {
+
+        boolean matches(
+                Collection<Long> categoryIds,
+                BigDecimal minPrice,
+                BigDecimal maxPrice,
+                Boolean isActive,
+                Boolean isVisible) {
+            return (categoryIds == null || categoryIds.contains(categoryId))
+                    && (minPrice == null || price.compareTo(minPrice) >= 0)
+                    && (maxPrice == null || price.compareTo(maxPrice) <= 0)
+                    && (isActive == null || isActive == active)
+                    && (isVisible == null || isVisible == visible);
+        }
+    }
+
+    private static final class Segment {
+
+        private final Map<Long, IndexedProduct> documents = new HashMap<>();
+        private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+        void add(IndexedProduct product) {
+            remove(product.id());
+            documents.put(product.id(), product);
+            product.tokens().forEach((token, weight) ->
+                    postings.computeIfAbsent(token, key -> new HashMap<>()).put(product.id(), weight));
+        }
+
+        void remove(Long productId) {
+            IndexedProduct product = documents.remove(productId);
+            if (product == null) {
+                return;
+            }
+            for (String token : product.tokens().keySet()) {
+                Map<Long, Float> products = postings.get(token);
+                if (products != null) {
+                    products.remove(productId);
+                    if (products.isEmpty()) {
+                        postings.remove(token);
+                    }
+                }
+            }
+        }
+
+        // Exact token matches score fully, longer tokens sharing the query token as prefix score half
+        Map<Long, Float> score(String queryToken) {
+            Map<Long, Float> scores = new HashMap<>();
+            int documentCount = documents.size();
+            postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, true).forEach((token, products) -> {
+                float factor = token.equals(queryToken) ? 1.0f : PREFIX_MATCH_FACTOR;
+                float idf = (float) Math.log(1.0 + (double) documentCount / products.size());
+                products.forEach((productId, weight) -> scores.merge(productId, weight * factor * idf, Math::max));
+            });
+            return scores;
+        }
+    }
+}
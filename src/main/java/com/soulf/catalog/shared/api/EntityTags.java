@@ -0,0 +1,53 @@
+package com.soulf.catalog.shared.api;
+
+import com.soulf.catalog.shared.exception.PreconditionFailedException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String of(Object... parts) {
+        return Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    // Tags for a single entity start with its id and version, so an If-Match tag names the version the client read.
+    // Null means the update is unconditional.
+    public static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.split(",")[0].trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        String[] parts = tag.replace("\"", "").split("-");
+        if (parts.length < 2 || !parts[0].equals(String.valueOf(id))) {
+            throw new PreconditionFailedException("If-Match does not refer to this resource: " + ifMatch);
+        }
+        try {
+            return Long.valueOf(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not carry a version: " + ifMatch);
+        }
+    }
+
+    // If-None-Match uses weak comparison, so a W/ prefix added by a proxy still matches
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || (tag.startsWith("W/") && tag.substring(2).equals(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,26 +1,49 @@
 package com.soulf.catalog.shared.config;
 
+import com.soulf.catalog.products.infrastructure.provider.dto.InventoryResponseDTO;
+import com.soulf.catalog.shared.invalidation.InvalidationMessage;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
 public class KafkaConfig {
 
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "${spring.kafka.bootstrap-servers:localhost:9092}");
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        // Idempotent, fully acknowledged sends keep per-key order across retries
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 20);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 10_000);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
@@ -28,5 +51,37 @@ public class KafkaConfig {
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
-}
 
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, InvalidationMessage> invalidationListenerContainerFactory(
+            @Value("${invalidation.coalesce-window:200ms}") Duration coalesceWindow) {
+        return batchListenerFactory(InvalidationMessage.class, coalesceWindow, 500);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, InventoryResponseDTO> inventoryListenerContainerFactory(
+            @Value("${inventory.events.coalesce-window:100ms}") Duration coalesceWindow,
+            @Value("${inventory.events.max-poll-records:1000}") int maxPollRecords) {
+        return batchListenerFactory(InventoryResponseDTO.class, coalesceWindow, maxPollRecords);
+    }
+
+    // Nodes load their starting state from the source of truth, so they only need changes from now on.
+    // A poll waits briefly for more messages so bursts are applied together.
+    private <T> ConcurrentKafkaListenerContainerFactory<String, T> batchListenerFactory(
+            Class<T> valueType, Duration coalesceWindow, int maxPollRecords) {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        configProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 16 * 1024);
+        configProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) coalesceWindow.toMillis());
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        JsonDeserializer<T> valueDeserializer = new JsonDeserializer<>(valueType, false);
+        ConsumerFactory<String, T> consumerFactory = new DefaultKafkaConsumerFactory<>(configProps,
+                new StringDeserializer(), new ErrorHandlingDeserializer<>(valueDeserializer));
+
+        ConcurrentKafkaListenerContainerFactory<String, T> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        return factory;
+    }
+}
@@ -1,5 +1,7 @@
 package com.soulf.catalog.shared.config;
 
+import com.soulf.catalog.products.api.dto.ProductDTO;
+import com.soulf.catalog.products.infrastructure.cache.ProductDTORedisSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -20,5 +22,14 @@ public class RedisConfig {
         template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
         return template;
     }
+
+    @Bean
+    public RedisTemplate<String, ProductDTO> productRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, ProductDTO> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new ProductDTORedisSerializer());
+        return template;
+    }
 }
 
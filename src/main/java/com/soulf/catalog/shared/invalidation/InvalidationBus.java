@@ -0,0 +1,111 @@
+package com.soulf.catalog.shared.invalidation;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Broadcasts local cache invalidations to every other replica. Each node consumes the topic in its own
+// consumer group, so all nodes see every message; a node ignores the messages it sent itself. Handlers re-read
+// the current state from the database, so a late or duplicate message only costs a redundant refresh and
+// nothing needs to be dropped by version.
+@Component
+@Slf4j
+public class InvalidationBus {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectProvider<InvalidationHandler> handlerProvider;
+    private final String topic;
+    private final boolean enabled;
+    @Getter
+    private final String nodeId;
+
+    private volatile Map<String, InvalidationHandler> handlers;
+
+    public InvalidationBus(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectProvider<InvalidationHandler> handlerProvider,
+            @Value("${invalidation.topic:catalog.invalidation}") String topic,
+            @Value("${invalidation.enabled:true}") boolean enabled,
+            @Value("${invalidation.node-id:}") String nodeId) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.handlerProvider = handlerProvider;
+        this.topic = topic;
+        this.enabled = enabled;
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString();
+    }
+
+    public String getGroupId() {
+        return "catalog-invalidation-" + nodeId;
+    }
+
+    // Versions are the entities' own @Version values and are informational only
+    public void publish(String entityType, Map<Long, Long> versions) {
+        if (!enabled || versions.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Long, Long> entry : versions.entrySet()) {
+            Long id = entry.getKey();
+            String key = entityType + ":" + id;
+            kafkaTemplate.send(topic, key, new InvalidationMessage(entityType, id, entry.getValue(), nodeId))
+                    .whenComplete((result, e) -> {
+                        if (e != null) {
+                            log.warn("Failed to broadcast invalidation for {}. Error: {}", key, e.getMessage());
+                        }
+                    });
+        }
+    }
+
+    // A poll returns whatever accumulated during the fetch wait, so a burst is applied as one deduplicated batch
+    @KafkaListener(
+            topics = "${invalidation.topic:catalog.invalidation}",
+            groupId = "#{__listener.groupId}",
+            containerFactory = "invalidationListenerContainerFactory",
+            autoStartup = "${invalidation.enabled:true}")
+    public void onMessages(List<InvalidationMessage> messages) {
+        Map<String, Set<Long>> idsByType = new HashMap<>();
+        for (InvalidationMessage message : messages) {
+            if (message == null || nodeId.equals(message.node())) {
+                continue;
+            }
+            idsByType.computeIfAbsent(message.type(), type -> new HashSet<>()).add(message.id());
+        }
+
+        idsByType.forEach((type, ids) -> {
+            InvalidationHandler handler = handlers().get(type);
+            if (handler == null) {
+                log.debug("No invalidation handler for entity type {}", type);
+                return;
+            }
+            try {
+                handler.invalidate(ids);
+            } catch (Exception e) {
+                log.warn("Failed to apply {} {} invalidations. Error: {}", ids.size(), type, e.getMessage());
+            }
+        });
+        log.debug("Applied invalidations for {} entity types from {} messages", idsByType.size(), messages.size());
+    }
+
+    private Map<String, InvalidationHandler> handlers() {
+        Map<String, InvalidationHandler> current = handlers;
+        if (current == null) {
+            current = handlerProvider.orderedStream()
+                    .collect(Collectors.toUnmodifiableMap(InvalidationHandler::entityType, Function.identity()));
+            handlers = current;
+        }
+        return current;
+    }
+}
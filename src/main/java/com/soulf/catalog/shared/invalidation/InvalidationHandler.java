@@ -0,0 +1,10 @@
+package com.soulf.catalog.shared.invalidation;
+
+import java.util.Set;
+
+public interface InvalidationHandler {
+
+    String entityType();
+
+    void invalidate(Set<Long> ids);
+}
@@ -0,0 +1,4 @@
+package com.soulf.catalog.shared.invalidation;
+
+public record InvalidationMessage(String type, Long id, Long version, String node) {
+}
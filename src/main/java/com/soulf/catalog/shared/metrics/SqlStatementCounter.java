@@ -0,0 +1,34 @@
+package com.soulf.catalog.shared.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts the statements Hibernate prepares on the current thread while a request is being served. Work
+// handed to other threads (streamed exports, parallel inventory fetches) is not attributed to the request.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    public static void start() {
+        STATEMENTS.set(new int[1]);
+    }
+
+    public static int current() {
+        int[] statements = STATEMENTS.get();
+        return statements != null ? statements[0] : 0;
+    }
+
+    public static int stop() {
+        int count = current();
+        STATEMENTS.remove();
+        return count;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] statements = STATEMENTS.get();
+        if (statements != null) {
+            statements[0]++;
+        }
+        return sql;
+    }
+}
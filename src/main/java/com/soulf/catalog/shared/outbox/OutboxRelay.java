@@ -0,0 +1,120 @@
+package com.soulf.catalog.shared.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Publishes outbox rows in id order and deletes them only once Kafka has acknowledged the whole batch.
+// A failure leaves the batch in place to be sent again, so delivery is at least once. Ids come from a pooled
+// sequence, so across replicas id order is not commit order; messages carry the entity version for consumers
+// to order by instead. A row whose payload cannot be read is marked failed and skipped rather than blocking
+// every batch behind it.
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    public static final String EVENT_TYPE_HEADER = "eventType";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration sendTimeout;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${outbox.relay.enabled:true}") boolean enabled,
+            @Value("${outbox.relay.batch-size:500}") int batchSize,
+            @Value("${outbox.relay.send-timeout:30s}") Duration sendTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+            } while (published != null && published == batchSize);
+        } catch (Exception e) {
+            log.warn("Outbox relay failed, pending events will be retried. Error: {}", e.getMessage());
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findAllByFailedAtIsNullOrderByIdAsc(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<OutboxEvent> sent = new ArrayList<>(batch.size());
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            ProducerRecord<String, Object> record = toRecord(event);
+            if (record != null) {
+                sends.add(kafkaTemplate.send(record));
+                sent.add(event);
+            }
+        }
+        kafkaTemplate.flush();
+        CompletableFuture<Void> acknowledged = CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new));
+        try {
+            acknowledged.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish " + sent.size() + " outbox events", e);
+        }
+        outboxEventRepository.deleteAllByIdInBatch(sent.stream().map(OutboxEvent::getId).toList());
+        log.debug("Published {} outbox events", sent.size());
+        return batch.size();
+    }
+
+    // Returns null after marking the row failed; the change commits with the batch
+    private ProducerRecord<String, Object> toRecord(OutboxEvent event) {
+        ProducerRecord<String, Object> record;
+        try {
+            record = new ProducerRecord<>(event.getTopic(), event.getMessageKey(), objectMapper.readTree(event.getPayload()));
+        } catch (JsonProcessingException e) {
+            log.error("Corrupt payload in outbox event {}, marking it failed. Error: {}", event.getId(), e.getMessage());
+            event.setFailedAt(LocalDateTime.now());
+            event.setFailureReason(e.getOriginalMessage());
+            return null;
+        }
+        record.headers().add(new RecordHeader(EVENT_TYPE_HEADER, event.getEventType().getBytes(StandardCharsets.UTF_8)));
+        return record;
+    }
+}
@@ -0,0 +1,94 @@
+package com.soulf.catalog.shared.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+// Stage timings for one traced request, bound to the thread serving it. Only the outermost call of a stage
+// is timed, so a service calling another service counts once; different stages nest, e.g. db within service.
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private long handlerEndedAt;
+
+    private RequestTrace() {
+    }
+
+    static RequestTrace start() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    long startedAt() {
+        return startedAt;
+    }
+
+    // Returns the start time, or -1 when the stage is already running further up the stack
+    long enter(String stage) {
+        Stage timing = stages.computeIfAbsent(stage, name -> new Stage());
+        return timing.depth++ == 0 ? System.nanoTime() : -1;
+    }
+
+    void exit(String stage, long enteredAt) {
+        Stage timing = stages.get(stage);
+        timing.depth--;
+        if (enteredAt >= 0) {
+            timing.nanos += System.nanoTime() - enteredAt;
+            timing.calls++;
+        }
+    }
+
+    void markHandlerEnd() {
+        handlerEndedAt = System.nanoTime();
+    }
+
+    // Time after the controller returned: message conversion and writing the body
+    private long serializationNanos(long endedAt) {
+        return handlerEndedAt > 0 ? endedAt - handlerEndedAt : 0;
+    }
+
+    String serverTiming(long endedAt, int sqlStatements) {
+        StringJoiner header = new StringJoiner(", ");
+        stages.forEach((name, timing) ->
+                header.add(name + ";desc=\"" + timing.calls + " calls\";dur=" + millis(timing.nanos)));
+        if (handlerEndedAt > 0) {
+            header.add("serialization;dur=" + millis(serializationNanos(endedAt)));
+        }
+        header.add("sql;desc=\"" + sqlStatements + " statements\"");
+        header.add("total;dur=" + millis(endedAt - startedAt));
+        return header.toString();
+    }
+
+    String breakdown(long endedAt, int sqlStatements) {
+        StringJoiner line = new StringJoiner(" ");
+        stages.forEach((name, timing) -> line.add(name + "=" + millis(timing.nanos) + "ms/" + timing.calls));
+        if (handlerEndedAt > 0) {
+            line.add("serialization=" + millis(serializationNanos(endedAt)) + "ms");
+        }
+        line.add("sql=" + sqlStatements);
+        return line.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static final class Stage {
+        private int depth;
+        private int calls;
+        private long nanos;
+    }
+}
@@ -0,0 +1,58 @@
+package com.soulf.catalog.shared.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Every advice starts with a ThreadLocal read and proceeds untouched when the request is not traced
+@Aspect
+@Component
+public class RequestTraceAspect {
+
+    @Around("within(com.soulf.catalog..api..*) && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object controller(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        try {
+            return time(trace, "controller", joinPoint);
+        } finally {
+            trace.markHandlerEnd();
+        }
+    }
+
+    @Around("within(com.soulf.catalog..core..*) && @within(org.springframework.stereotype.Service)")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(RequestTrace.current(), "service", joinPoint);
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(RequestTrace.current(), "db", joinPoint);
+    }
+
+    @Around("within(com.soulf.catalog.products.infrastructure.provider.InventoryServiceProvider)")
+    public Object inventory(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(RequestTrace.current(), "inventory", joinPoint);
+    }
+
+    // Lazy associations are loaded while mapping, so this stage includes those queries
+    @Around("within(com.soulf.catalog.products.api.ProductDTOMapper)")
+    public Object mapping(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(RequestTrace.current(), "mapping", joinPoint);
+    }
+
+    private static Object time(RequestTrace trace, String stage, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        long enteredAt = trace.enter(stage);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            trace.exit(stage, enteredAt);
+        }
+    }
+}
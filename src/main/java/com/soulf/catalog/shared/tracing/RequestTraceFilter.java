@@ -0,0 +1,92 @@
+package com.soulf.catalog.shared.tracing;
+
+import com.soulf.catalog.shared.metrics.SqlStatementCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Traced responses are buffered so Server-Timing, which must precede the body, can include serialization.
+// Untraced requests only pay for two clock reads, and are logged without a breakdown when slow.
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class RequestTraceFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_HEADER = "X-Request-Trace";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final boolean enabled;
+    private final boolean headerEnabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final List<String> excludedPaths;
+
+    public RequestTraceFilter(
+            @Value("${request-trace.enabled:true}") boolean enabled,
+            @Value("${request-trace.header-enabled:false}") boolean headerEnabled,
+            @Value("${request-trace.sample-rate:0.0}") double sampleRate,
+            @Value("${request-trace.slow-threshold:1s}") Duration slowThreshold,
+            @Value("${request-trace.excluded-paths:/actuator/**,/api/products/export/**}") List<String> excludedPaths) {
+        this.enabled = enabled;
+        this.headerEnabled = headerEnabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, request.getRequestURI()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isTraced(request)) {
+            long startedAt = System.nanoTime();
+            chain.doFilter(request, response);
+            long elapsed = System.nanoTime() - startedAt;
+            if (elapsed > slowThresholdNanos) {
+                log.warn("Slow request {} {} took {} ms with {} SQL statements",
+                        request.getMethod(), request.getRequestURI(), elapsed / 1_000_000, SqlStatementCounter.current());
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        RequestTrace trace = RequestTrace.start();
+        try {
+            chain.doFilter(request, buffered);
+        } finally {
+            RequestTrace.clear();
+            long endedAt = System.nanoTime();
+            int statements = SqlStatementCounter.current();
+            buffered.setHeader("Server-Timing", trace.serverTiming(endedAt, statements));
+            buffered.copyBodyToResponse();
+            long elapsed = endedAt - trace.startedAt();
+            if (elapsed > slowThresholdNanos) {
+                log.warn("Slow request {} {} took {} ms: {}",
+                        request.getMethod(), request.getRequestURI(), elapsed / 1_000_000, trace.breakdown(endedAt, statements));
+            }
+        }
+    }
+
+    private boolean isTraced(HttpServletRequest request) {
+        return (headerEnabled && "true".equalsIgnoreCase(request.getHeader(TRACE_HEADER)))
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
@@ -0,0 +1,90 @@
+package com.soulf.catalog.products.core;
+
+import com.soulf.catalog.products.core.repository.ProductRepository;
+import com.soulf.catalog.products.infrastructure.search.ProductSearchIndex;
+import com.soulf.catalog.shared.api.dto.GlobalExceptionHandler;
+import com.soulf.catalog.shared.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// With the index enabled, text searches never fall back to SQL, whose matches and ordering differ from the index's
+@ExtendWith(MockitoExtension.class)
+class ProductServiceSearchTest {
+
+    private static final Sort SORT = Sort.by("id");
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @InjectMocks
+    private ProductService productService;
+
+    @Test
+    void indexCursorOnNodeWithoutReadyIndexIsRetryable() {
+        when(productSearchIndex.isEnabled()).thenReturn(true);
+        when(productSearchIndex.isReady()).thenReturn(false);
+
+        assertThatThrownBy(() -> scroll("laptop", ScrollPosition.offset(20)))
+                .isInstanceOf(ServiceUnavailableException.class);
+        verifyNoInteractions(productRepository);
+
+        var response = new GlobalExceptionHandler()
+                .handleServiceUnavailableException(new ServiceUnavailableException("not ready"));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotBlank();
+    }
+
+    @Test
+    void textSearchOnNodeWithoutReadyIndexIsRetryableRatherThanAnsweredBySql() {
+        when(productSearchIndex.isEnabled()).thenReturn(true);
+        when(productSearchIndex.isReady()).thenReturn(false);
+
+        assertThatThrownBy(() -> scroll("laptop", ScrollPosition.keyset()))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThatThrownBy(() -> productService.searchProducts("laptop", null, false, null, null, true, true,
+                PageRequest.of(0, 20)))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThatThrownBy(() -> productService.searchProductSummaries("laptop", null, false, null, null, true, true,
+                PageRequest.of(0, 20)))
+                .isInstanceOf(ServiceUnavailableException.class);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void indexCursorWithoutTextSearchMustRestart() {
+        assertThatThrownBy(() -> scroll(null, ScrollPosition.offset(20)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("restart the scroll");
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void indexCursorWithIndexDisabledMustRestart() {
+        when(productSearchIndex.isEnabled()).thenReturn(false);
+
+        assertThatThrownBy(() -> scroll("laptop", ScrollPosition.offset(20)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("restart the scroll");
+        verifyNoInteractions(productRepository);
+    }
+
+    private void scroll(String name, ScrollPosition position) {
+        productService.scrollSearchProducts(name, null, false, null, null, true, true, position, SORT, 20);
+    }
+}
@@ -0,0 +1,97 @@
+package com.soulf.catalog.products.core.repository;
+
+import com.soulf.catalog.categories.core.domain.Category;
+import com.soulf.catalog.products.core.domain.Product;
+import com.soulf.catalog.products.core.domain.ProductAttribute;
+import com.soulf.catalog.products.core.domain.ProductImage;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A page must cost the page query, the count and one batch per child collection, however many products it holds
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProductPageStatementCountTest {
+
+    private static final int PRODUCTS = 120;
+    private static final long MAX_STATEMENTS = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Category category;
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        category = entityManager.persist(Category.builder().name("Phones").slug("phones").build());
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = Product.builder()
+                    .sku("SKU-" + i)
+                    .name("Product " + i)
+                    .price(new BigDecimal("9.99"))
+                    .category(category)
+                    .build();
+            product.getAttributes().add(ProductAttribute.builder()
+                    .product(product).name("color").value("black").build());
+            product.getAttributes().add(ProductAttribute.builder()
+                    .product(product).name("size").value("M").build());
+            product.getImages().add(ProductImage.builder().product(product).imageUrl("https://img.test/" + i)
+                    .isPrimary(true).build());
+            entityManager.persist(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 50, 100})
+    void activePageLoadsAssociationsInBoundedStatements(int size) {
+        Page<Product> page = productRepository.findByIsActiveTrueAndIsVisibleTrue(PageRequest.of(0, size));
+
+        touchAssociations(page);
+        assertThat(page.getContent()).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 50, 100})
+    void categoryPageLoadsAssociationsInBoundedStatements(int size) {
+        Page<Product> page = productRepository.findByCategoryIdAndIsActiveTrueAndIsVisibleTrue(
+                category.getId(), PageRequest.of(0, size));
+
+        touchAssociations(page);
+        assertThat(page.getContent()).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    // Everything the DTO mapper reads from a product
+    private static void touchAssociations(Page<Product> page) {
+        page.forEach(product -> {
+            assertThat(product.getCategory().getName()).isEqualTo("Phones");
+            assertThat(product.getAttributes()).hasSize(2);
+            assertThat(product.getImages()).hasSize(1);
+        });
+    }
+}
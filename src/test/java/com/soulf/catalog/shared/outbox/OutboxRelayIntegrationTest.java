@@ -0,0 +1,166 @@
+package com.soulf.catalog.shared.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soulf.catalog.products.core.ProductService;
+import com.soulf.catalog.products.core.commands.CreateProductCommand;
+import com.soulf.catalog.products.core.domain.Product;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "outbox.relay.enabled=true",
+        "outbox.relay.interval-ms=100",
+        "catalog.events.product-topic=" + OutboxRelayIntegrationTest.TOPIC
+})
+@ActiveProfiles("dev")
+@EmbeddedKafka(partitions = 1, topics = OutboxRelayIntegrationTest.TOPIC)
+class OutboxRelayIntegrationTest {
+
+    static final String TOPIC = "test.product-events";
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Consumer<String, String> consumer;
+
+    @BeforeEach
+    void subscribe() {
+        Map<String, Object> props = KafkaTestUtils.consumerProps(
+                "outbox-test-" + UUID.randomUUID(), "false", embeddedKafka);
+        consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new StringDeserializer())
+                .createConsumer();
+        embeddedKafka.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+    }
+
+    @AfterEach
+    void close() {
+        consumer.close();
+    }
+
+    @Test
+    void committedWriteIsPublishedWithItsState() throws Exception {
+        Product product = productService.createProduct(command("committed"));
+
+        JsonNode message = objectMapper.readTree(awaitRecord(product.getId()).value());
+
+        assertThat(message.get("eventType").asText()).isEqualTo("PRODUCT_CREATED");
+        assertThat(message.get("productId").asLong()).isEqualTo(product.getId());
+        assertThat(message.get("version").asLong()).isEqualTo(product.getVersion());
+        assertThat(message.get("sku").asText()).isEqualTo(product.getSku());
+        assertThat(message.get("price").decimalValue()).isEqualByComparingTo(product.getPrice());
+        assertThat(message.get("isActive").asBoolean()).isTrue();
+    }
+
+    @Test
+    void rolledBackWriteIsNotPublished() {
+        CreateProductCommand rolledBack = command("rolled-back");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productService.createProduct(rolledBack);
+            status.setRollbackOnly();
+        });
+        // Once a write committed afterwards has been relayed, the rolled-back one would have been too
+        Product sentinel = productService.createProduct(command("sentinel"));
+
+        List<ConsumerRecord<String, String>> received = awaitRecords(sentinel.getId());
+
+        assertThat(received).extracting(ConsumerRecord::value).noneMatch(value -> value.contains(rolledBack.getSku()));
+    }
+
+    @Test
+    void recordIsKeyedByProductId() {
+        Product product = productService.createProduct(command("keyed"));
+
+        ConsumerRecord<String, String> record = awaitRecord(product.getId());
+
+        assertThat(record.key()).isEqualTo(product.getId().toString());
+        assertThat(record.headers().lastHeader(OutboxRelay.EVENT_TYPE_HEADER)).isNotNull();
+    }
+
+    @Test
+    void unreadablePayloadIsMarkedFailedAndSkipped() throws InterruptedException {
+        OutboxEvent poison = outboxEventRepository.save(OutboxEvent.builder()
+                .topic(TOPIC)
+                .messageKey("poison")
+                .eventType("PRODUCT_UPDATED")
+                .payload("{not json")
+                .build());
+        Product product = productService.createProduct(command("after-poison"));
+
+        awaitRecord(product.getId());
+
+        // The mark commits with the batch, which may land just after Kafka acknowledged it
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (outboxEventRepository.findById(poison.getId()).orElseThrow().getFailedAt() == null) {
+            if (System.nanoTime() > deadline) {
+                fail("Outbox event " + poison.getId() + " was not marked failed within " + TIMEOUT);
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private ConsumerRecord<String, String> awaitRecord(Long productId) {
+        List<ConsumerRecord<String, String>> received = awaitRecords(productId);
+        return received.get(received.size() - 1);
+    }
+
+    // Polls until the record for the product arrives and returns everything received up to and including it
+    private List<ConsumerRecord<String, String>> awaitRecords(Long productId) {
+        List<ConsumerRecord<String, String>> received = new ArrayList<>();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(500))) {
+                received.add(record);
+                if (productId.toString().equals(record.key())) {
+                    return received;
+                }
+            }
+        }
+        return fail("No message for product " + productId + " within " + TIMEOUT);
+    }
+
+    private static CreateProductCommand command(String label) {
+        return CreateProductCommand.builder()
+                .sku(label + "-" + UUID.randomUUID())
+                .name("Outbox " + label)
+                .price(new BigDecimal("19.99"))
+                .build();
+    }
+}